@@ -7,7 +7,10 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class BidderApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(BidderApplication.class, args);
+		SpringApplication application = new SpringApplication(BidderApplication.class);
+		if (Boolean.getBoolean(StartupTraining.PROPERTY))
+			application.addListeners(new StartupTraining());
+		application.run(args);
 	}
 
 }
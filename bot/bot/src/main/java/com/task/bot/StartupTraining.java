@@ -0,0 +1,53 @@
+package com.task.bot;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+
+/**
+ * Training run of the fast-start build, enabled by the system property bidder.startup.training=true: once the
+ * application is ready, it plays a round over the /api endpoints on its own port, so the classes of serving a bid are
+ * loaded too, and exits. The JVM of the run records the loaded classes into the class data sharing archive of the next
+ * starts. The listener is added to the application by {@link BidderApplication} of the training run only, rather than
+ * being a bean, since the ahead-of-time processed context keeps the beans of the build.
+ */
+public class StartupTraining implements ApplicationListener<ApplicationReadyEvent> {
+
+    /**
+     * System property which enables the training run.
+     */
+    public static final String PROPERTY = "bidder.startup.training";
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        String url = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+        int status = 0;
+        try {
+            call(url + "/init?quantity=10&cash=100", "PUT");
+            call(url + "/placeBid", "GET");
+            call(url + "/bids?own=20&other=10", "POST");
+        } catch (IOException e) {
+            status = 1;
+        }
+        int exitCode = SpringApplication.exit(context);
+        System.exit(status == 0 ? exitCode : status);
+    }
+
+    private static void call(String url, String method) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+        connection.setRequestMethod(method);
+        if (connection.getResponseCode() != 200)
+            throw new IOException(method + " " + url + " replied " + connection.getResponseCode());
+        try (InputStream body = connection.getInputStream()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.task.bot.config;
+
+import com.task.bot.journal.AuctionJournal;
+import com.task.bot.journal.JournaledBidder;
+import com.task.bot.service.Bidder;
+import com.task.bot.service.impl.BidderStats;
+import com.task.bot.service.impl.LockedBidder;
+import com.task.bot.service.impl.StrategyRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BidderConfig {
+
+    /**
+     * Counters of rounds and bid decisions of all bidders.
+     */
+    @Bean
+    public BidderStats bidderStats() {
+        return new BidderStats();
+    }
+
+    /**
+     * The single bidder of /api endpoints of the default strategy, which is called by concurrent request threads.
+     * The lock is outside of the journal, so calls are journaled in the order they are made.
+     */
+    @Bean
+    public Bidder bidder(StrategyRegistry strategyRegistry,
+                         @Qualifier("bidderJournal") AuctionJournal bidderJournal) {
+        return new LockedBidder(new JournaledBidder(strategyRegistry.getDefault().newBidder(), bidderJournal));
+    }
+}
@@ -0,0 +1,51 @@
+package com.task.bot.config;
+
+import com.task.bot.journal.AuctionJournal;
+import com.task.bot.journal.MappedAuctionJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Journals of the single bidder of /api endpoints and of the auction sessions, enabled by bidder.journal.enabled=true.
+ * Each journal has its own subdirectory of bidder.journal.dir and is replayed when its bidders are created.
+ * The journal of the auctions is split into bidder.journal.stripes stripes, so appends of different auctions rarely
+ * wait for each other, the journal of the single bidder has one.
+ */
+@Configuration
+public class JournalConfig {
+
+    @Value("${bidder.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${bidder.journal.dir:journal}")
+    private Path dir;
+
+    @Value("${bidder.journal.segment-size:67108864}")
+    private int segmentSize;
+
+    @Value("${bidder.journal.flush-interval:10ms}")
+    private Duration flushInterval;
+
+    @Value("${bidder.journal.stripes:8}")
+    private int stripes;
+
+    @Bean
+    public AuctionJournal bidderJournal() {
+        return journal("bidder", 1);
+    }
+
+    @Bean
+    public AuctionJournal auctionJournal() {
+        return journal("auctions", stripes);
+    }
+
+    private AuctionJournal journal(String name, int stripes) {
+        if (!enabled)
+            return AuctionJournal.NONE;
+        return new MappedAuctionJournal(dir.resolve(name), segmentSize, flushInterval, stripes);
+    }
+}
@@ -0,0 +1,38 @@
+package com.task.bot.config;
+
+import com.task.bot.service.AuctionSessions;
+import com.task.bot.service.impl.BidDecision;
+import com.task.bot.service.impl.BidderStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bidder metrics. Meters only read the counters, which bidders increment without knowing about Micrometer:
+ * - bidder.auctions.active: number of auction sessions,
+ * - bidder.rounds: rounds shown to the bidders, its rate is the rounds per second,
+ * - bidder.decisions: bids placed per branch of the bid placing, tagged by decision.
+ * Endpoint latency percentiles are recorded by Spring Boot as http.server.requests tagged by uri.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder bidderMetrics(BidderStats stats, AuctionSessions sessions) {
+        return registry -> {
+            Gauge.builder("bidder.auctions.active", sessions, AuctionSessions::size)
+                    .description("Auctions currently held in the registry")
+                    .register(registry);
+            FunctionCounter.builder("bidder.rounds", stats, BidderStats::rounds)
+                    .description("Rounds shown to the bidders")
+                    .register(registry);
+            for (BidDecision decision : BidDecision.values())
+                FunctionCounter.builder("bidder.decisions", stats, s -> s.decisions(decision))
+                        .description("Bids placed per branch of the bid placing")
+                        .tag("decision", decision.name().toLowerCase())
+                        .register(registry);
+        };
+    }
+}
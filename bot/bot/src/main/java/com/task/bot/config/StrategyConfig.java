@@ -0,0 +1,107 @@
+package com.task.bot.config;
+
+import com.task.bot.service.BidderStrategy;
+import com.task.bot.service.impl.BidTables;
+import com.task.bot.service.impl.BidderImpl;
+import com.task.bot.service.impl.BidderStats;
+import com.task.bot.service.impl.DpBidder;
+import com.task.bot.service.impl.MonteCarloBidder;
+import com.task.bot.service.impl.OpponentModel;
+import com.task.bot.service.impl.OpponentProfiles;
+import com.task.bot.service.impl.StrategyRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Strategies which auctions can be played by, every {@link BidderStrategy} bean is registered:
+ * - heuristic: {@link BidderImpl}, which learns the opponents of auctions initialized with an opponent id in the
+ * shared {@link OpponentProfiles} of bidder.profiles.capacity opponents at most,
+ * - dp-even, dp-front-loaded, dp-back-loaded: {@link DpBidder} against the opponent model, each of them with its own
+ * cache of solved tables bounded by bidder.dp.max-cells and saved to bidder.dp.dir if it is set,
+ * - monte-carlo: {@link MonteCarloBidder} with bidder.monte-carlo.rollouts per candidate bid at most within
+ * bidder.monte-carlo.budget per bid on the shared pool of bidder.monte-carlo.parallelism threads (0 for a thread per
+ * processor), falling back to the heuristic.
+ * The default strategy is bidder.strategy.default.
+ */
+@Configuration
+public class StrategyConfig implements DisposableBean {
+
+    @Value("${bidder.dp.max-cells:268435456}")
+    private long maxCells;
+
+    @Value("${bidder.dp.max-table-cells:67108864}")
+    private long maxTableCells;
+
+    @Value("${bidder.dp.dir:}")
+    private String dir;
+
+    private ForkJoinPool rolloutPool;
+
+    @Bean
+    public StrategyRegistry strategyRegistry(List<BidderStrategy> strategies,
+                                             @Value("${bidder.strategy.default:heuristic}") String defaultStrategy) {
+        return new StrategyRegistry(strategies, defaultStrategy);
+    }
+
+    @Bean
+    public OpponentProfiles opponentProfiles(@Value("${bidder.profiles.capacity:65536}") int capacity,
+                                             @Value("${bidder.profiles.ttl:24h}") Duration ttl) {
+        return new OpponentProfiles(capacity, ttl);
+    }
+
+    @Bean
+    public BidderStrategy heuristicStrategy(BidderStats bidderStats, OpponentProfiles opponentProfiles) {
+        return BidderStrategy.of(StrategyRegistry.HEURISTIC, () -> new BidderImpl(bidderStats, opponentProfiles));
+    }
+
+    @Bean
+    public BidderStrategy dpEvenStrategy(BidderStats bidderStats, OpponentProfiles opponentProfiles) {
+        return dp(OpponentModel.EVEN, bidderStats, opponentProfiles);
+    }
+
+    @Bean
+    public BidderStrategy dpFrontLoadedStrategy(BidderStats bidderStats, OpponentProfiles opponentProfiles) {
+        return dp(OpponentModel.FRONT_LOADED, bidderStats, opponentProfiles);
+    }
+
+    @Bean
+    public BidderStrategy dpBackLoadedStrategy(BidderStats bidderStats, OpponentProfiles opponentProfiles) {
+        return dp(OpponentModel.BACK_LOADED, bidderStats, opponentProfiles);
+    }
+
+    /**
+     * The pool is not a bean, since an Executor bean would replace the task executor of Spring Boot, so it is shut down
+     * with this configuration instead.
+     */
+    @Bean
+    public BidderStrategy monteCarloStrategy(BidderStats bidderStats, OpponentProfiles opponentProfiles,
+                                             @Value("${bidder.monte-carlo.budget:2ms}") Duration budget,
+                                             @Value("${bidder.monte-carlo.rollouts:256}") int rollouts,
+                                             @Value("${bidder.monte-carlo.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        rolloutPool = pool;
+        return BidderStrategy.of("monte-carlo", () -> new MonteCarloBidder(pool, budget.toNanos(), rollouts,
+                new BidderImpl(bidderStats, opponentProfiles)));
+    }
+
+    @Override
+    public void destroy() {
+        if (rolloutPool != null) {
+            rolloutPool.shutdownNow();
+        }
+    }
+
+    private BidderStrategy dp(OpponentModel model, BidderStats bidderStats, OpponentProfiles opponentProfiles) {
+        BidTables tables = new BidTables(model, maxCells, maxTableCells, dir.isEmpty() ? null : Path.of(dir));
+        return BidderStrategy.of("dp-" + model.name().toLowerCase().replace('_', '-'),
+                () -> new DpBidder(tables, new BidderImpl(bidderStats, opponentProfiles)));
+    }
+}
@@ -0,0 +1,28 @@
+package com.task.bot.config;
+
+import com.task.bot.controller.AuctionWebSocketHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WebSocket channel of live auctions, served by the servlet stack only.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final AuctionWebSocketHandler auctionWebSocketHandler;
+
+    public WebSocketConfig(AuctionWebSocketHandler auctionWebSocketHandler) {
+        this.auctionWebSocketHandler = auctionWebSocketHandler;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(auctionWebSocketHandler, "/ws/auctions");
+    }
+}
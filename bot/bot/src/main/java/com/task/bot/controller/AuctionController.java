@@ -0,0 +1,155 @@
+package com.task.bot.controller;
+
+import com.task.bot.dto.AuctionBidDTO;
+import com.task.bot.dto.BidDTO;
+import com.task.bot.dto.RoundDTO;
+import com.task.bot.exception.AuctionNotFoundException;
+import com.task.bot.service.AuctionSessions;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/auctions")
+public class AuctionController {
+
+    private final AuctionSessions sessions;
+
+    public AuctionController(AuctionSessions sessions) {
+        this.sessions = sessions;
+    }
+
+    @Operation(
+            summary = "Initializes the bidder of the auction with the production quantity and the allowed cash limit.",
+            parameters = {
+                    @Parameter(in = ParameterIn.PATH, required = true, name = "id", description = "the auction id"),
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "quantity", description = "the quantity"),
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "cash", description = "the cash limit"),
+                    @Parameter(in = ParameterIn.QUERY, name = "strategy",
+                            description = "the strategy of the bidder, the default one if it is not set"),
+                    @Parameter(in = ParameterIn.QUERY, name = "opponent",
+                            description = "the id of other bidder, which the bidder learns across auctions")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Auction successfully initialized"),
+                    @ApiResponse(responseCode = "400", description = "Strategy is not registered")})
+    @PutMapping("/{id}/init")
+    public ResponseEntity<Void> init(@PathVariable("id") String id,
+                                     @RequestParam("quantity") int quantity, @RequestParam("cash") int cash,
+                                     @RequestParam(name = "strategy", required = false) String strategy,
+                                     @RequestParam(name = "opponent", required = false) String opponent) {
+        sessions.init(id, strategy, opponent, quantity, cash);
+        return ResponseEntity.ok().build();
+    }
+
+    @Operation(
+            summary = "Retrieves the names of the strategies which auctions can be initialized with.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Strategies successfully retrieved",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = String.class))))})
+    @GetMapping("/strategies")
+    public Set<String> strategies() {
+        return sessions.strategies();
+    }
+
+    @Operation(
+            summary = "Retrieves the next bid of the auction for the product, which may be zero.",
+            parameters = {
+                    @Parameter(in = ParameterIn.PATH, required = true, name = "id", description = "the auction id")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Bid successfully placed",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BidDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Auction is not initialized")})
+    @GetMapping("/{id}/placeBid")
+    public BidDTO placeBid(@PathVariable("id") String id) {
+        return BidDTO.of(sessions.placeBid(id));
+    }
+
+    @Operation(
+            summary = "Shows the bids of the two bidders of the auction.",
+            parameters = {
+                    @Parameter(in = ParameterIn.PATH, required = true, name = "id", description = "the auction id"),
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "own", description = "the bid of this bidder"),
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "other", description = "the bid of other bidder")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Bids successfully published"),
+                    @ApiResponse(responseCode = "404", description = "Auction is not initialized")})
+    @PostMapping("/{id}/bids")
+    public void bids(@PathVariable("id") String id, @RequestParam("own") int own, @RequestParam("other") int other) {
+        sessions.bids(id, own, other);
+    }
+
+    @Operation(
+            summary = "Shows the bids of the two bidders of the auction and retrieves the next bid in a single call.",
+            parameters = {
+                    @Parameter(in = ParameterIn.PATH, required = true, name = "id", description = "the auction id"),
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "own", description = "the bid of this bidder"),
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "other", description = "the bid of other bidder")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Bids successfully published and next bid placed",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = BidDTO.class))),
+                    @ApiResponse(responseCode = "404", description = "Auction is not initialized")})
+    @PostMapping("/{id}/round")
+    public BidDTO round(@PathVariable("id") String id, @RequestParam("own") int own, @RequestParam("other") int other) {
+        return BidDTO.of(sessions.round(id, own, other));
+    }
+
+    @Operation(
+            summary = "Settles many rounds of one or many auctions in order and retrieves the next bid after each of them.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Rounds settled, a round of an auction which is "
+                            + "not initialized gets an error instead of a bid and the next rounds are settled anyway",
+                            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = AuctionBidDTO.class))))})
+    @PostMapping("/rounds")
+    public List<AuctionBidDTO> rounds(@RequestBody List<RoundDTO> rounds) {
+        List<AuctionBidDTO> bids = new ArrayList<>(rounds.size());
+        for (RoundDTO round : rounds)
+            bids.add(settle(round));
+        return bids;
+    }
+
+    private AuctionBidDTO settle(RoundDTO round) {
+        try {
+            return new AuctionBidDTO(round.getAuctionId(),
+                    sessions.round(round.getAuctionId(), round.getOwn(), round.getOther()));
+        } catch (IllegalArgumentException | AuctionNotFoundException e) {
+            return AuctionBidDTO.failed(round.getAuctionId(), e.getMessage());
+        }
+    }
+
+    @Operation(
+            summary = "Finishes the auction and releases its state.",
+            parameters = {
+                    @Parameter(in = ParameterIn.PATH, required = true, name = "id", description = "the auction id")},
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Auction successfully removed"),
+                    @ApiResponse(responseCode = "404", description = "Auction is not initialized")})
+    @DeleteMapping("/{id}")
+    public void remove(@PathVariable("id") String id) {
+        sessions.remove(id);
+    }
+}
@@ -0,0 +1,123 @@
+package com.task.bot.controller;
+
+import com.task.bot.exception.AuctionNotFoundException;
+import com.task.bot.exception.UnknownStrategyException;
+import com.task.bot.service.AuctionSessions;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+
+/**
+ * Persistent duplex channel for live auctions at /ws/auctions.
+ * Every text frame holds one or more commands separated by a new line, and the replies are sent back in one frame
+ * in the same order. Fields are separated by a single space:
+ * - "I id quantity cash [strategy [opponent]]" initializes the auction, by the default strategy if it is not set or
+ * is "-", against the opponent id if it is set, reply "OK id",
+ * - "P id" retrieves the next bid, reply "B id bid",
+ * - "R id own other" shows the bids of the settled round and retrieves the next bid, reply "B id bid",
+ * - "S id own other" shows the bids of the settled round, reply "OK id",
+ * - "D id" removes the auction, reply "OK id".
+ * A command which can not be executed gets the reply "E id message" and does not affect the next commands.
+ */
+@Component
+public class AuctionWebSocketHandler extends TextWebSocketHandler {
+
+    private final AuctionSessions sessions;
+
+    public AuctionWebSocketHandler(AuctionSessions sessions) {
+        this.sessions = sessions;
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        String payload = message.getPayload();
+        StringBuilder replies = new StringBuilder(32);
+        int start = 0;
+        while (start < payload.length()) {
+            int end = payload.indexOf('\n', start);
+            if (end < 0)
+                end = payload.length();
+            int lineEnd = end > start && payload.charAt(end - 1) == '\r' ? end - 1 : end;
+            if (lineEnd > start) {
+                if (!replies.isEmpty())
+                    replies.append('\n');
+                execute(payload, start, lineEnd, replies);
+            }
+            start = end + 1;
+        }
+        if (!replies.isEmpty())
+            session.sendMessage(new TextMessage(replies));
+    }
+
+    /**
+     * Executing a single command line and appending its reply.
+     * @param payload frame text
+     * @param start index of the first character of the command
+     * @param end index after the last character of the command
+     * @param replies the replies of the frame
+     */
+    private void execute(String payload, int start, int end, StringBuilder replies) {
+        int idStart = start + 2;
+        int idEnd = nextSpace(payload, idStart, end);
+        if (idEnd < 0)
+            idEnd = end;
+        String id = idStart < idEnd ? payload.substring(idStart, idEnd) : "";
+        try {
+            if (end - start < 3 || payload.charAt(start + 1) != ' ' || id.isEmpty())
+                throw new IllegalArgumentException("Malformed command");
+            switch (payload.charAt(start)) {
+                case 'I' -> {
+                    int cashStart = nextSpace(payload, idEnd + 1, end);
+                    int strategyStart = cashStart < 0 ? -1 : nextSpace(payload, cashStart + 1, end);
+                    int opponentStart = strategyStart < 0 ? -1 : nextSpace(payload, strategyStart + 1, end);
+                    String strategy = strategyStart < 0
+                            ? null
+                            : payload.substring(strategyStart + 1, opponentStart < 0 ? end : opponentStart);
+                    String opponent = opponentStart < 0 ? null : payload.substring(opponentStart + 1, end);
+                    sessions.init(id, "-".equals(strategy) ? null : strategy, opponent,
+                            parseInt(payload, idEnd + 1, cashStart),
+                            parseInt(payload, cashStart + 1, strategyStart < 0 ? end : strategyStart));
+                    replies.append("OK ").append(id);
+                }
+                case 'P' -> {
+                    int bid = sessions.placeBid(id);
+                    replies.append("B ").append(id).append(' ').append(bid);
+                }
+                case 'R' -> {
+                    int otherStart = nextSpace(payload, idEnd + 1, end);
+                    int bid = sessions.round(id, parseInt(payload, idEnd + 1, otherStart),
+                            parseInt(payload, otherStart + 1, end));
+                    replies.append("B ").append(id).append(' ').append(bid);
+                }
+                case 'S' -> {
+                    int otherStart = nextSpace(payload, idEnd + 1, end);
+                    sessions.bids(id, parseInt(payload, idEnd + 1, otherStart), parseInt(payload, otherStart + 1, end));
+                    replies.append("OK ").append(id);
+                }
+                case 'D' -> {
+                    sessions.remove(id);
+                    replies.append("OK ").append(id);
+                }
+                default -> throw new IllegalArgumentException("Unknown command " + payload.charAt(start));
+            }
+        } catch (IllegalArgumentException | AuctionNotFoundException | UnknownStrategyException e) {
+            replies.append("E ").append(id).append(' ').append(e.getMessage());
+        }
+    }
+
+    private static int nextSpace(String payload, int from, int end) {
+        for (int i = from; i < end; i++)
+            if (payload.charAt(i) == ' ')
+                return i;
+        return -1;
+    }
+
+    private static int parseInt(String payload, int start, int end) {
+        if (start <= 0 || end <= start)
+            throw new IllegalArgumentException("Malformed command");
+        return Integer.parseInt(payload, start, end, 10);
+    }
+}
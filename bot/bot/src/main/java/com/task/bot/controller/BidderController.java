@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api")
 public class BidderController {
 
@@ -31,11 +33,14 @@ public class BidderController {
             summary = "Initializes the bidder with the production quantity and the allowed cash limit.",
             parameters = {
                     @Parameter(in = ParameterIn.QUERY, required = true, name = "quantity", description = "the quantity"),
-                    @Parameter(in = ParameterIn.QUERY, required = true, name = "cash", description = "the cash limit")},
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "cash", description = "the cash limit"),
+                    @Parameter(in = ParameterIn.QUERY, name = "opponent",
+                            description = "the id of other bidder, which the bidder learns across auctions")},
             responses = {@ApiResponse(responseCode = "200", description = "Bidder successfully initialized")})
     @PutMapping("/init")
-    public ResponseEntity<Void> init(@RequestParam("quantity") Integer quantity, @RequestParam("cash") Integer cash) {
-        bidder.init(quantity, cash);
+    public ResponseEntity<Void> init(@RequestParam("quantity") int quantity, @RequestParam("cash") int cash,
+                                     @RequestParam(name = "opponent", required = false) String opponent) {
+        bidder.init(quantity, cash, opponent);
         return ResponseEntity.ok().build();
     }
 
@@ -46,7 +51,7 @@ public class BidderController {
                             schema = @Schema(implementation = BidDTO.class)))})
     @GetMapping("/placeBid")
     public BidDTO placeBid() {
-        return new BidDTO(bidder.placeBid());
+        return BidDTO.of(bidder.placeBid());
     }
 
     @Operation(
@@ -56,7 +61,20 @@ public class BidderController {
                     @Parameter(in = ParameterIn.QUERY, required = true, name = "other", description = "the bid of other bidder")},
             responses = {@ApiResponse(responseCode = "200", description = "Bids successfully published")})
     @PostMapping("/bids")
-    public void bids(@RequestParam("own") Integer own, @RequestParam("other") Integer other) {
+    public void bids(@RequestParam("own") int own, @RequestParam("other") int other) {
         bidder.bids(own, other);
     }
+
+    @Operation(
+            summary = "Shows the bids of the two bidders and retrieves the next bid in a single call.",
+            parameters = {
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "own", description = "the bit of this bidder"),
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "other", description = "the bid of other bidder")},
+            responses = {@ApiResponse(responseCode = "200", description = "Bids successfully published and next bid placed",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BidDTO.class)))})
+    @PostMapping("/round")
+    public BidDTO round(@RequestParam("own") int own, @RequestParam("other") int other) {
+        return BidDTO.of(bidder.round(own, other));
+    }
 }
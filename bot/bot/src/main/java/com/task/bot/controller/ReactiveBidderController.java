@@ -0,0 +1,101 @@
+package com.task.bot.controller;
+
+import com.task.bot.dto.BidDTO;
+import com.task.bot.service.Bidder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.function.Supplier;
+
+/**
+ * The /api endpoints of {@link BidderController} on the reactive stack, spring.main.web-application-type=reactive.
+ * Every call runs on the bounded elastic scheduler, never on the Netty event loop: it waits for the lock of the bidder
+ * while another call holds it, for the lock of the journal when bidder.journal.enabled is set, for the rollouts of
+ * a monte-carlo bid, and initialization may solve a table of a dp strategy for seconds.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api")
+public class ReactiveBidderController {
+
+    private final Bidder bidder;
+
+    public ReactiveBidderController(Bidder bidder) {
+        this.bidder = bidder;
+    }
+
+    @Operation(
+            summary = "Initializes the bidder with the production quantity and the allowed cash limit.",
+            parameters = {
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "quantity", description = "the quantity"),
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "cash", description = "the cash limit"),
+                    @Parameter(in = ParameterIn.QUERY, name = "opponent",
+                            description = "the id of other bidder, which the bidder learns across auctions")},
+            responses = {@ApiResponse(responseCode = "200", description = "Bidder successfully initialized")})
+    @PutMapping("/init")
+    public Mono<ResponseEntity<Void>> init(@RequestParam("quantity") int quantity, @RequestParam("cash") int cash,
+                                           @RequestParam(name = "opponent", required = false) String opponent) {
+        return Mono.fromRunnable(() -> bidder.init(quantity, cash, opponent))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(Mono.fromSupplier(() -> ResponseEntity.ok().build()));
+    }
+
+    @Operation(
+            summary = "Retrieves the next bid for the product, which may be zero.",
+            responses = {@ApiResponse(responseCode = "200", description = "Bid successfully placed",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BidDTO.class)))})
+    @GetMapping("/placeBid")
+    public Mono<BidDTO> placeBid() {
+        return call(() -> BidDTO.of(bidder.placeBid()));
+    }
+
+    @Operation(
+            summary = "Shows the bids of the two bidders.",
+            parameters = {
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "own", description = "the bid of this bidder"),
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "other", description = "the bid of other bidder")},
+            responses = {@ApiResponse(responseCode = "200", description = "Bids successfully published")})
+    @PostMapping("/bids")
+    public Mono<Void> bids(@RequestParam("own") int own, @RequestParam("other") int other) {
+        return call(() -> {
+            bidder.bids(own, other);
+            return null;
+        });
+    }
+
+    @Operation(
+            summary = "Shows the bids of the two bidders and retrieves the next bid in a single call.",
+            parameters = {
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "own", description = "the bid of this bidder"),
+                    @Parameter(in = ParameterIn.QUERY, required = true, name = "other", description = "the bid of other bidder")},
+            responses = {@ApiResponse(responseCode = "200", description = "Bids successfully published and next bid placed",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = BidDTO.class)))})
+    @PostMapping("/round")
+    public Mono<BidDTO> round(@RequestParam("own") int own, @RequestParam("other") int other) {
+        return call(() -> BidDTO.of(bidder.round(own, other)));
+    }
+
+    /**
+     * @return the call on the bounded elastic scheduler
+     */
+    private <T> Mono<T> call(Supplier<T> call) {
+        return Mono.fromSupplier(call).subscribeOn(Schedulers.boundedElastic());
+    }
+}
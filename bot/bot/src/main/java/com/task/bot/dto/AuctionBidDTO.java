@@ -0,0 +1,58 @@
+package com.task.bot.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * An object that represents the next bid of an auction in the batch response of /api/auctions/rounds, or the error
+ * of its round, which does not affect the other rounds of the batch.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuctionBidDTO {
+
+    private String auctionId;
+    private Integer bid;
+    private String error;
+
+    public AuctionBidDTO(String auctionId, int bid) {
+        this.auctionId = auctionId;
+        this.bid = bid;
+    }
+
+    private AuctionBidDTO(String auctionId, String error) {
+        this.auctionId = auctionId;
+        this.error = error;
+    }
+
+    /**
+     * @param auctionId the auction id
+     * @param error why the round could not be settled
+     * @return the round without a bid
+     */
+    public static AuctionBidDTO failed(String auctionId, String error) {
+        return new AuctionBidDTO(auctionId, error);
+    }
+
+    public String getAuctionId() {
+        return auctionId;
+    }
+
+    public void setAuctionId(String auctionId) {
+        this.auctionId = auctionId;
+    }
+
+    public Integer getBid() {
+        return bid;
+    }
+
+    public void setBid(Integer bid) {
+        this.bid = bid;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -2,20 +2,41 @@ package com.task.bot.dto;
 
 /**
  * An object that represents the current bid of this bidder for /api/placeBid.
+ * The object can not be changed, so {@link #of(int)} shares instances for bids from 0 to 1023 between responses and
+ * a greater bid gets a new object per response. It saves the response object only, the serialization of the
+ * response allocates its own buffers anyway.
  */
 public class BidDTO {
 
-    private int bid;
+    private static final BidDTO[] CACHE = new BidDTO[1024];
+
+    static {
+        for (int bid = 0; bid < CACHE.length; bid++)
+            CACHE[bid] = new BidDTO(bid);
+    }
+
+    private final int bid;
 
     public BidDTO(int bid) {
         this.bid = bid;
     }
 
-    public int getBid() {
-        return bid;
+    /**
+     * @param bid the bid
+     * @return shared object for the bid if there is one, otherwise a new one
+     */
+    public static BidDTO of(int bid) {
+        return isShared(bid) ? CACHE[bid] : new BidDTO(bid);
     }
 
-    public void setBid(int bid) {
-        this.bid = bid;
+    /**
+     * @return true if the object for the bid is shared rather than allocated by {@link #of(int)}
+     */
+    public static boolean isShared(int bid) {
+        return bid >= 0 && bid < CACHE.length;
+    }
+
+    public int getBid() {
+        return bid;
     }
 }
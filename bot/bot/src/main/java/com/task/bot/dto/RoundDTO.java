@@ -0,0 +1,44 @@
+package com.task.bot.dto;
+
+/**
+ * An object that represents the settled round of an auction in the batch for /api/auctions/rounds.
+ */
+public class RoundDTO {
+
+    private String auctionId;
+    private int own;
+    private int other;
+
+    public RoundDTO() {
+    }
+
+    public RoundDTO(String auctionId, int own, int other) {
+        this.auctionId = auctionId;
+        this.own = own;
+        this.other = other;
+    }
+
+    public String getAuctionId() {
+        return auctionId;
+    }
+
+    public void setAuctionId(String auctionId) {
+        this.auctionId = auctionId;
+    }
+
+    public int getOwn() {
+        return own;
+    }
+
+    public void setOwn(int own) {
+        this.own = own;
+    }
+
+    public int getOther() {
+        return other;
+    }
+
+    public void setOther(int other) {
+        this.other = other;
+    }
+}
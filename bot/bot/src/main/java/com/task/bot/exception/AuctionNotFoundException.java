@@ -0,0 +1,15 @@
+package com.task.bot.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an auction is requested before it was initialized or after it was removed.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class AuctionNotFoundException extends RuntimeException {
+
+    public AuctionNotFoundException(String auctionId) {
+        super("Auction " + auctionId + " is not initialized");
+    }
+}
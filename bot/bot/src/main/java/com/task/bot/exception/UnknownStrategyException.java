@@ -0,0 +1,15 @@
+package com.task.bot.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an auction is initialized with a strategy which is not registered.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class UnknownStrategyException extends RuntimeException {
+
+    public UnknownStrategyException(String strategy) {
+        super("Strategy " + strategy + " is not registered");
+    }
+}
@@ -0,0 +1,42 @@
+package com.task.bot.journal;
+
+/**
+ * Calls which change the state of auction bidders, in the order they happened.
+ * Placing a bid is an event too, since the bidder may move cash between its planned bids while placing it.
+ */
+public interface AuctionEvents {
+
+    /**
+     * @param auctionId the auction id
+     * @param strategy name of the strategy of the auction, null for the default one
+     * @param opponentId id of the other bidder, null if it is unknown
+     * @param quantity the quantity
+     * @param cash the cash limit
+     */
+    void init(String auctionId, String strategy, String opponentId, int quantity, int cash);
+
+    /**
+     * @param auctionId the auction id
+     */
+    void placeBid(String auctionId);
+
+    /**
+     * @param auctionId the auction id
+     * @param own the bid of this bidder
+     * @param other the bid of other bidder
+     */
+    void bids(String auctionId, int own, int other);
+
+    /**
+     * Bids of the settled round followed by placing the bid of the next one.
+     * @param auctionId the auction id
+     * @param own the bid of this bidder in the settled round
+     * @param other the bid of other bidder in the settled round
+     */
+    void round(String auctionId, int own, int other);
+
+    /**
+     * @param auctionId the auction id
+     */
+    void remove(String auctionId);
+}
@@ -0,0 +1,60 @@
+package com.task.bot.journal;
+
+/**
+ * Durable log of auction events. Bidders append every event after applying it, and on startup the events are
+ * replayed to rebuild the bidders of open auctions.
+ */
+public interface AuctionJournal extends AuctionEvents, AutoCloseable {
+
+    /**
+     * Journal that keeps nothing, for bidders without persistence.
+     */
+    AuctionJournal NONE = new AuctionJournal() {
+
+        @Override
+        public void init(String auctionId, String strategy, String opponentId, int quantity, int cash) {
+        }
+
+        @Override
+        public void placeBid(String auctionId) {
+        }
+
+        @Override
+        public void bids(String auctionId, int own, int other) {
+        }
+
+        @Override
+        public void round(String auctionId, int own, int other) {
+        }
+
+        @Override
+        public void remove(String auctionId) {
+        }
+
+        @Override
+        public void replay(AuctionEvents target) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Passes all journaled events to the target in the order they were appended.
+     * @param target events receiver
+     */
+    void replay(AuctionEvents target);
+
+    /**
+     * Makes all appended events durable.
+     */
+    void flush();
+
+    @Override
+    void close();
+}
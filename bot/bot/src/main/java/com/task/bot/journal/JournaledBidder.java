@@ -0,0 +1,98 @@
+package com.task.bot.journal;
+
+import com.task.bot.service.Bidder;
+
+/**
+ * Bidder which journals every call after making it, and rebuilds the bidder from its journal when created.
+ * The journal belongs to this bidder only, its events are recorded under a constant auction id.
+ * Calls should be serialized by the caller, so the journal keeps them in the same order.
+ */
+public class JournaledBidder implements Bidder {
+
+    private static final String AUCTION_ID = "bidder";
+
+    private final Bidder bidder;
+    private final AuctionJournal journal;
+
+    /**
+     * @param bidder bidder to rebuild and journal
+     * @param journal journal of this bidder
+     */
+    public JournaledBidder(Bidder bidder, AuctionJournal journal) {
+        this.bidder = bidder;
+        this.journal = journal;
+        journal.replay(new Recovery());
+    }
+
+    @Override
+    public void init(int quantity, int cash) {
+        bidder.init(quantity, cash);
+        journal.init(AUCTION_ID, null, null, quantity, cash);
+    }
+
+    @Override
+    public void init(int quantity, int cash, String opponentId) {
+        bidder.init(quantity, cash, opponentId);
+        journal.init(AUCTION_ID, null, opponentId, quantity, cash);
+    }
+
+    @Override
+    public int placeBid() {
+        int bid = bidder.placeBid();
+        journal.placeBid(AUCTION_ID);
+        return bid;
+    }
+
+    /**
+     * A replayed bid is journaled already.
+     */
+    @Override
+    public void replayBid() {
+        bidder.replayBid();
+    }
+
+    @Override
+    public void bids(int own, int other) {
+        bidder.bids(own, other);
+        journal.bids(AUCTION_ID, own, other);
+    }
+
+    /**
+     * Applies the events to the bidder. Events before the first initialization are of an auction whose
+     * initialization was compacted away, and are skipped.
+     */
+    private final class Recovery implements AuctionEvents {
+
+        private boolean initialized;
+
+        @Override
+        public void init(String auctionId, String strategy, String opponentId, int quantity, int cash) {
+            bidder.init(quantity, cash, opponentId);
+            initialized = true;
+        }
+
+        @Override
+        public void placeBid(String auctionId) {
+            if (initialized)
+                bidder.replayBid();
+        }
+
+        @Override
+        public void bids(String auctionId, int own, int other) {
+            if (initialized)
+                bidder.bids(own, other);
+        }
+
+        @Override
+        public void round(String auctionId, int own, int other) {
+            if (initialized) {
+                bidder.bids(own, other);
+                bidder.replayBid();
+            }
+        }
+
+        @Override
+        public void remove(String auctionId) {
+        }
+    }
+}
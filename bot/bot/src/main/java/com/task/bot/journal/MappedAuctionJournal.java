@@ -0,0 +1,612 @@
+package com.task.bot.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal written through memory-mapped segment files journal-0000000000.log, journal-0000000001.log...
+ * Appending an event is a few stores into the mapped segment, there is no system call per event: the page cache
+ * keeps the events if the JVM dies, and a background thread forces the pages written since its previous run to disk
+ * once per flush interval (group commit), so a crash of the machine loses at most the events of the last interval.
+ * A record is: type (1 byte), auction id length in chars (2 bytes), auction id chars, two int arguments, and
+ * the strategy name length in chars (2 bytes) with the strategy name chars for an init of a named strategy,
+ * followed by the opponent id length and chars for an init against a known opponent, where the strategy name
+ * length 0xFFFF stands for the default strategy, and the CRC-32C of the type and the rest of the record (4 bytes).
+ * The type byte is written last, so a record torn by a crash reads as the end of the journal. A record of an unknown
+ * type, which does not fit into its segment or whose checksum does not match, such as one of several pages of which
+ * only some reached the disk, is the end of the journal too: when the journal is opened, the segments after it are
+ * deleted and the rest of its segment is cleared, so the bytes of a torn record do not follow the next shorter one.
+ * A new segment is started when the record does not fit into the current one, the rest of the full segment is forced
+ * by the next flush, so appending never waits for the disk.
+ * The journal keeps the segment of the last initialization of every open auction, and the oldest segment is deleted
+ * once none of them is there: all of its events are of auctions removed or initialized again since, so recovery
+ * replays the open auctions rather than the whole history. Segments are deleted from the oldest one only, so an
+ * auction which stays open keeps the segments since its initialization. Opponent profiles learn again only the
+ * auctions of the kept segments. Segments are tracked from {@link #replay(AuctionEvents)} on, nothing is deleted before it.
+ * The journal may be split into stripes by the hash of the auction id, each of them with its own segments in the
+ * subdirectory stripe-00, stripe-01... and its own lock, so appends of auctions of different stripes do not wait for
+ * each other. All events of an auction are in its stripe, so they are replayed in order, while the events of
+ * different stripes are replayed stripe by stripe. A journal of a single stripe keeps its segments in the directory.
+ * A directory written with another number of stripes is opened with the number it was written with, so the events of
+ * an auction stay in one stripe.
+ */
+public class MappedAuctionJournal implements AuctionJournal {
+
+    private static final byte END = 0;
+    private static final byte INIT = 1;
+    private static final byte PLACE_BID = 2;
+    private static final byte BIDS = 3;
+    private static final byte ROUND = 4;
+    private static final byte REMOVE = 5;
+    private static final byte INIT_STRATEGY = 6;
+    private static final byte INIT_OPPONENT = 7;
+    private static final int HEADER = 3;
+    private static final int ARGUMENTS = 8;
+    private static final int CHECKSUM = 4;
+    private static final int MAX_ID_LENGTH = 0xFFFF;
+    private static final int NULL_LENGTH = 0xFFFF;
+
+    private final Stripe[] stripes;
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * Opens the journal of a single stripe.
+     * @see #MappedAuctionJournal(Path, int, Duration, int)
+     */
+    public MappedAuctionJournal(Path directory, int segmentSize, Duration flushInterval) {
+        this(directory, segmentSize, flushInterval, 1);
+    }
+
+    /**
+     * Opens the journal in the directory and continues the last segment of every stripe after its last complete
+     * record, the bytes after it are cleared.
+     * @param directory directory of segment files, created if it does not exist
+     * @param segmentSize size of a segment file in bytes
+     * @param flushInterval period of forcing appended events to disk
+     * @param stripes number of stripes, unless the directory has been written with another number
+     */
+    public MappedAuctionJournal(Path directory, int segmentSize, Duration flushInterval, int stripes) {
+        if (stripes < 1 || stripes > 100)
+            throw new IllegalArgumentException("Number of stripes should be from 1 to 100");
+        try {
+            Files.createDirectories(directory);
+            int count = stripes(directory, stripes);
+            this.stripes = new Stripe[count];
+            for (int i = 0; i < count; i++)
+                this.stripes[i] = new Stripe(count == 1 ? directory : directory.resolve(String.format("stripe-%02d", i)),
+                        segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auction-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(flushInterval.toMillis(), 1);
+        flusher.scheduleWithFixedDelay(this::flush, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void init(String auctionId, String strategy, String opponentId, int quantity, int cash) {
+        if (opponentId != null)
+            stripe(auctionId).append(INIT_OPPONENT, auctionId, quantity, cash, strategy, opponentId);
+        else if (strategy != null)
+            stripe(auctionId).append(INIT_STRATEGY, auctionId, quantity, cash, strategy, null);
+        else
+            stripe(auctionId).append(INIT, auctionId, quantity, cash, null, null);
+    }
+
+    @Override
+    public void placeBid(String auctionId) {
+        stripe(auctionId).append(PLACE_BID, auctionId, 0, 0, null, null);
+    }
+
+    @Override
+    public void bids(String auctionId, int own, int other) {
+        stripe(auctionId).append(BIDS, auctionId, own, other, null, null);
+    }
+
+    @Override
+    public void round(String auctionId, int own, int other) {
+        stripe(auctionId).append(ROUND, auctionId, own, other, null, null);
+    }
+
+    @Override
+    public void remove(String auctionId) {
+        stripe(auctionId).append(REMOVE, auctionId, 0, 0, null, null);
+    }
+
+    /**
+     * Reads all segments of every stripe from the first one, and then deletes the segments with no events of open
+     * auctions. Should be called before appending new events.
+     * @param target events receiver
+     */
+    @Override
+    public void replay(AuctionEvents target) {
+        for (Stripe stripe : stripes)
+            stripe.replay(target);
+    }
+
+    /**
+     * Forces the events appended since the previous flush, along with the rest of the segments filled since then.
+     * Appending is blocked only while the ranges are taken, not while they are written to disk.
+     */
+    @Override
+    public void flush() {
+        for (Stripe stripe : stripes)
+            stripe.flush();
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flush();
+    }
+
+    private Stripe stripe(String auctionId) {
+        return stripes[Math.floorMod(auctionId.hashCode(), stripes.length)];
+    }
+
+    /**
+     * @param directory directory of the journal
+     * @param stripes requested number of stripes
+     * @return number of stripes the directory has been written with, the requested one for a new journal
+     */
+    private static int stripes(Path directory, int stripes) throws IOException {
+        if (!segments(directory).isEmpty())
+            return 1;
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> Files.isDirectory(path)
+                            && path.getFileName().toString().matches("stripe-\\d{2}"))
+                    .mapToInt(path -> Integer.parseInt(path.getFileName().toString().substring("stripe-".length())) + 1)
+                    .max()
+                    .orElse(stripes);
+        }
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().matches("journal-\\d{10}\\.log"))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static int index(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring("journal-".length(), name.length() - ".log".length()));
+    }
+
+    /**
+     * @param buffer segment
+     * @return position after the last complete record of the segment
+     */
+    private static int end(MappedByteBuffer buffer) {
+        return replay(buffer, null);
+    }
+
+    /**
+     * Zeroes the segment from the position on, the pages which are zero already are only read.
+     * @param buffer segment
+     * @param from position of the end of the journal
+     * @return position after the last byte which was not zero, the position if there was none
+     */
+    private static int clear(MappedByteBuffer buffer, int from) {
+        int last = from;
+        for (int i = from; i < buffer.capacity(); i++) {
+            if (buffer.get(i) != END) {
+                buffer.put(i, END);
+                last = i + 1;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * @param buffer segment
+     * @param end position after the last valid record of the segment
+     * @return true if a damaged record follows the valid ones rather than the end of the segment
+     */
+    private static boolean damaged(MappedByteBuffer buffer, int end) {
+        return end + HEADER <= buffer.capacity() && buffer.get(end) != END;
+    }
+
+    /**
+     * @param crc checksum to reuse
+     * @param buffer segment
+     * @param type type of the record
+     * @param from position after the type byte
+     * @param to position of the checksum
+     * @return CRC-32C of the type and the bytes from the position after it to the checksum
+     */
+    private static int checksum(CRC32C crc, ByteBuffer buffer, byte type, int from, int to) {
+        crc.reset();
+        crc.update(type);
+        int limit = buffer.limit();
+        buffer.limit(to).position(from);
+        crc.update(buffer);
+        buffer.limit(limit).position(0);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @param buffer segment
+     * @param target events receiver, null to only skip the records
+     * @return position after the last valid record of the segment
+     */
+    private static int replay(MappedByteBuffer buffer, AuctionEvents target) {
+        CRC32C crc = new CRC32C();
+        int position = 0;
+        while (position + HEADER <= buffer.capacity()) {
+            byte type = buffer.get(position);
+            int length = buffer.getChar(position + 1);
+            int size = HEADER + 2 * length + ARGUMENTS;
+            if (type < INIT || type > INIT_OPPONENT || position + size > buffer.capacity())
+                break;
+            int strategyAt = position + size;
+            if (type == INIT_STRATEGY || type == INIT_OPPONENT) {
+                size = skipString(buffer, position, size);
+                if (size < 0)
+                    break;
+            }
+            int opponentAt = position + size;
+            if (type == INIT_OPPONENT) {
+                size = skipString(buffer, position, size);
+                if (size < 0)
+                    break;
+            }
+            int checksumAt = position + size;
+            size += CHECKSUM;
+            if (position + size > buffer.capacity()
+                    || buffer.getInt(checksumAt) != checksum(crc, buffer, type, position + 1, checksumAt))
+                break;
+            if (target != null) {
+                String auctionId = readString(buffer, position + HEADER, length);
+                int index = position + HEADER + 2 * length;
+                String strategy = type == INIT_STRATEGY || type == INIT_OPPONENT ? readString(buffer, strategyAt) : null;
+                String opponentId = type == INIT_OPPONENT ? readString(buffer, opponentAt) : null;
+                dispatch(target, type, auctionId, buffer.getInt(index), buffer.getInt(index + 4), strategy,
+                        opponentId);
+            }
+            position += size;
+        }
+        return position;
+    }
+
+    /**
+     * @param buffer segment
+     * @param position position of the record
+     * @param size size of the record up to the string
+     * @return size of the record up to the end of the string, -1 if the string does not fit into the segment
+     */
+    private static int skipString(MappedByteBuffer buffer, int position, int size) {
+        if (position + size + 2 > buffer.capacity())
+            return -1;
+        int length = buffer.getChar(position + size);
+        size += 2 + (length == NULL_LENGTH ? 0 : 2 * length);
+        return position + size > buffer.capacity() ? -1 : size;
+    }
+
+    /**
+     * @param buffer segment
+     * @param index position of the length of the string
+     * @return the string or null
+     */
+    private static String readString(MappedByteBuffer buffer, int index) {
+        int length = buffer.getChar(index);
+        return length == NULL_LENGTH ? null : readString(buffer, index + 2, length);
+    }
+
+    private static String readString(MappedByteBuffer buffer, int index, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++, index += 2)
+            chars[i] = buffer.getChar(index);
+        return new String(chars);
+    }
+
+    private static void dispatch(AuctionEvents target, byte type, String auctionId, int first, int second,
+                                 String strategy, String opponentId) {
+        switch (type) {
+            case INIT, INIT_STRATEGY, INIT_OPPONENT -> target.init(auctionId, strategy, opponentId, first, second);
+            case PLACE_BID -> target.placeBid(auctionId);
+            case BIDS -> target.bids(auctionId, first, second);
+            case ROUND -> target.round(auctionId, first, second);
+            case REMOVE -> target.remove(auctionId);
+            default -> throw new IllegalStateException("Unknown journal record type " + type);
+        }
+    }
+
+    /**
+     * Segments of the auctions of a stripe, appended under the lock of the stripe.
+     */
+    private static final class Stripe {
+
+        private final Path directory;
+        private final int segmentSize;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Integer> initSegments = new HashMap<>();
+        private final CRC32C crc = new CRC32C();
+        private List<Range> filled = new ArrayList<>();
+        private MappedByteBuffer segment;
+        private int segmentIndex;
+        private int position;
+        private int flushed;
+        private int firstSegment;
+        private int[] openAuctions = new int[16];
+        private boolean compacting;
+
+        private Stripe(Path directory, int segmentSize) throws IOException {
+            this.directory = directory;
+            this.segmentSize = segmentSize;
+            Files.createDirectories(directory);
+            List<Path> segments = segments(directory);
+            firstSegment = segments.isEmpty() ? 0 : index(segments.get(0));
+            segmentIndex = segments.isEmpty() ? 0 : index(segments.get(segments.size() - 1));
+            for (Path path : segments) {
+                int index = index(path);
+                if (index == segmentIndex)
+                    break;
+                MappedByteBuffer buffer = map(index);
+                if (damaged(buffer, end(buffer))) {
+                    segmentIndex = index;
+                    break;
+                }
+            }
+            for (Path path : segments)
+                if (index(path) > segmentIndex)
+                    Files.delete(path);
+            segment = map(segmentIndex);
+            position = end(segment);
+            int cleared = clear(segment, position);
+            if (cleared > position)
+                segment.force(position, cleared - position);
+            flushed = position;
+        }
+
+        private void replay(AuctionEvents target) {
+            lock.lock();
+            try {
+                initSegments.clear();
+                Arrays.fill(openAuctions, 0);
+                Tracker tracker = new Tracker(this, target);
+                for (Path path : segments(directory)) {
+                    tracker.segment = index(path);
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                        MappedAuctionJournal.replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()),
+                                tracker);
+                    }
+                }
+                compacting = true;
+                compact();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void flush() {
+            List<Range> ranges;
+            MappedByteBuffer dirty;
+            int from;
+            int to;
+            lock.lock();
+            try {
+                ranges = filled;
+                if (!ranges.isEmpty())
+                    filled = new ArrayList<>();
+                dirty = segment;
+                from = flushed;
+                to = position;
+                flushed = position;
+            } finally {
+                lock.unlock();
+            }
+            for (Range range : ranges)
+                range.segment.force(range.from, range.to - range.from);
+            if (to > from)
+                dirty.force(from, to - from);
+        }
+
+        private void append(byte type, String auctionId, int first, int second, String strategy,
+                            String opponentId) {
+            int length = auctionId.length();
+            int strategyLength = strategy == null ? 0 : strategy.length();
+            int opponentLength = opponentId == null ? 0 : opponentId.length();
+            int size = HEADER + 2 * length + ARGUMENTS + (type == INIT_STRATEGY || type == INIT_OPPONENT
+                    ? 2 + 2 * strategyLength : 0) + (type == INIT_OPPONENT ? 2 + 2 * opponentLength : 0) + CHECKSUM;
+            if (length > MAX_ID_LENGTH || strategyLength >= NULL_LENGTH || opponentLength > MAX_ID_LENGTH
+                    || size > segmentSize)
+                throw new IllegalArgumentException("Auction id, strategy name or opponent id is too long for the journal");
+            lock.lock();
+            try {
+                if (position + size > segment.capacity())
+                    nextSegment();
+                int index = position + 1;
+                segment.putChar(index, (char) length);
+                index += 2;
+                for (int i = 0; i < length; i++, index += 2)
+                    segment.putChar(index, auctionId.charAt(i));
+                segment.putInt(index, first);
+                segment.putInt(index + 4, second);
+                index += ARGUMENTS;
+                if (type == INIT_STRATEGY || type == INIT_OPPONENT)
+                    index = putString(index, strategy);
+                if (type == INIT_OPPONENT)
+                    index = putString(index, opponentId);
+                segment.putInt(index, checksum(crc, segment, type, position + 1, index));
+                segment.put(position, type);
+                position += size;
+                if (type == REMOVE || type == INIT || type == INIT_STRATEGY || type == INIT_OPPONENT) {
+                    if (type == REMOVE)
+                        untrack(auctionId);
+                    else
+                        track(auctionId, segmentIndex);
+                    compact();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @param index position of the string
+         * @param value the string, null is written as the length 0xFFFF
+         * @return position after the string
+         */
+        private int putString(int index, String value) {
+            segment.putChar(index, (char) (value == null ? NULL_LENGTH : value.length()));
+            index += 2;
+            if (value != null)
+                for (int i = 0; i < value.length(); i++, index += 2)
+                    segment.putChar(index, value.charAt(i));
+            return index;
+        }
+
+        /**
+         * Starts the next segment, the unflushed rest of the full one is left to the flusher. Should be called under
+         * the lock.
+         */
+        private void nextSegment() {
+            MappedByteBuffer full = segment;
+            try {
+                segment = map(segmentIndex + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            segmentIndex++;
+            if (position > flushed)
+                filled.add(new Range(full, flushed, position));
+            position = 0;
+            flushed = 0;
+            compact();
+        }
+
+        /**
+         * Notes the segment of the last initialization of the auction. Should be called under the lock.
+         */
+        private void track(String auctionId, int index) {
+            untrack(auctionId);
+            initSegments.put(auctionId, index);
+            if (index - firstSegment >= openAuctions.length)
+                openAuctions = Arrays.copyOf(openAuctions, Math.max(openAuctions.length * 2, index - firstSegment + 1));
+            openAuctions[index - firstSegment]++;
+        }
+
+        /**
+         * Forgets the removed auction. Should be called under the lock.
+         */
+        private void untrack(String auctionId) {
+            Integer index = initSegments.remove(auctionId);
+            if (index != null)
+                openAuctions[index - firstSegment]--;
+        }
+
+        /**
+         * Deletes the oldest segments while none of the open auctions is initialized there, the current segment is
+         * kept. A segment which can not be deleted is retried with the next segment. Should be called under the lock.
+         */
+        private void compact() {
+            while (compacting && firstSegment < segmentIndex && openAuctions[0] == 0) {
+                try {
+                    Files.deleteIfExists(path(firstSegment));
+                } catch (IOException e) {
+                    return;
+                }
+                System.arraycopy(openAuctions, 1, openAuctions, 0, openAuctions.length - 1);
+                openAuctions[openAuctions.length - 1] = 0;
+                firstSegment++;
+            }
+        }
+
+        private Path path(int index) {
+            return directory.resolve(String.format("journal-%010d.log", index));
+        }
+
+        private MappedByteBuffer map(int index) throws IOException {
+            Path path = path(index);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentSize, channel.size()));
+            }
+        }
+    }
+
+    /**
+     * Range of a filled segment which is not forced yet.
+     */
+    private static final class Range {
+
+        private final MappedByteBuffer segment;
+        private final int from;
+        private final int to;
+
+        private Range(MappedByteBuffer segment, int from, int to) {
+            this.segment = segment;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * Notes the segments of the replayed initializations of a stripe and passes the events to the target.
+     * Called under the lock of the stripe.
+     */
+    private static final class Tracker implements AuctionEvents {
+
+        private final Stripe stripe;
+        private final AuctionEvents target;
+        private int segment;
+
+        private Tracker(Stripe stripe, AuctionEvents target) {
+            this.stripe = stripe;
+            this.target = target;
+        }
+
+        @Override
+        public void init(String auctionId, String strategy, String opponentId, int quantity, int cash) {
+            stripe.track(auctionId, segment);
+            target.init(auctionId, strategy, opponentId, quantity, cash);
+        }
+
+        @Override
+        public void placeBid(String auctionId) {
+            target.placeBid(auctionId);
+        }
+
+        @Override
+        public void bids(String auctionId, int own, int other) {
+            target.bids(auctionId, own, other);
+        }
+
+        @Override
+        public void round(String auctionId, int own, int other) {
+            target.round(auctionId, own, other);
+        }
+
+        @Override
+        public void remove(String auctionId) {
+            stripe.untrack(auctionId);
+            target.remove(auctionId);
+        }
+    }
+}
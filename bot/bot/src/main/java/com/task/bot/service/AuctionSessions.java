@@ -0,0 +1,87 @@
+package com.task.bot.service;
+
+import java.util.Set;
+
+/**
+ * Registry of independent auctions, each of them played by its own {@link Bidder}.
+ * Calls for different auctions never block each other, calls for the same auction are serialized.
+ */
+public interface AuctionSessions {
+
+    /**
+     * Initializes the auction with the production quantity and the allowed cash limit, played by the default strategy.
+     * Creates a new session if there is no auction with such id, otherwise sets up a new auction for it.
+     * @param auctionId the auction id
+     * @param quantity the quantity
+     * @param cash the cash limit
+     */
+    default void init(String auctionId, int quantity, int cash) {
+        init(auctionId, null, quantity, cash);
+    }
+
+    /**
+     * Initializes the auction with the production quantity and the allowed cash limit, played by the strategy.
+     * Creates a new session if there is no auction with such id, otherwise sets up a new auction for it, and the
+     * session gets a new bidder if the strategy is changed.
+     * @param auctionId the auction id
+     * @param strategy name of the strategy, null for the default one
+     * @param quantity the quantity
+     * @param cash the cash limit
+     */
+    default void init(String auctionId, String strategy, int quantity, int cash) {
+        init(auctionId, strategy, null, quantity, cash);
+    }
+
+    /**
+     * Initializes the auction against a known opponent, so the bidder may use what it has learned about the opponent
+     * in the previous auctions, and learns this auction as well.
+     * @param auctionId the auction id
+     * @param strategy name of the strategy, null for the default one
+     * @param opponentId id of the other bidder, null if it is unknown
+     * @param quantity the quantity
+     * @param cash the cash limit
+     */
+    void init(String auctionId, String strategy, String opponentId, int quantity, int cash);
+
+    /**
+     * Retrieves the next bid of the auction, which may be zero.
+     * @param auctionId the auction id
+     * @return the next bid
+     */
+    int placeBid(String auctionId);
+
+    /**
+     * Shows the bids of the two bidders of the auction.
+     * @param auctionId the auction id
+     * @param own the bid of this bidder
+     * @param other the bid of other bidder
+     */
+    void bids(String auctionId, int own, int other);
+
+    /**
+     * Settles the current round of the auction and retrieves the bid for the next one in a single call.
+     * It is the same as {@link #bids(String, int, int)} followed by {@link #placeBid(String)}, but nothing can happen
+     * to the auction between them.
+     * @param auctionId the auction id
+     * @param own the bid of this bidder in the settled round
+     * @param other the bid of other bidder in the settled round
+     * @return the next bid
+     */
+    int round(String auctionId, int own, int other);
+
+    /**
+     * Removes the auction and releases its state.
+     * @param auctionId the auction id
+     */
+    void remove(String auctionId);
+
+    /**
+     * @return number of auctions currently held in the registry
+     */
+    int size();
+
+    /**
+     * @return names of the strategies which auctions can be initialized with
+     */
+    Set<String> strategies();
+}
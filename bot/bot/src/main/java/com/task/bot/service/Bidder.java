@@ -9,17 +9,48 @@ public interface Bidder {
      */
     void init(int quantity, int cash);
 
+    /**
+     * Initializes the bidder for an auction against a known opponent, so the bidder may use what it has learned
+     * about the opponent in the previous auctions. Bidders which do not learn ignore the opponent.
+     * @param quantity the quantity
+     * @param cash the cash limit
+     * @param opponentId id of the other bidder, null if it is unknown
+     */
+    default void init(int quantity, int cash, String opponentId) {
+        init(quantity, cash);
+    }
+
     /**
      * Retrieves the next bid for the product, which may be zero.
      * @return the next bid
      */
     int placeBid();
 
+    /**
+     * Places the next bid again while the bidder is recovered from a journal. The bid is not returned, so the bidder
+     * may skip the search of a bid, as long as it gets to the same state as after {@link #placeBid()}.
+     */
+    default void replayBid() {
+        placeBid();
+    }
+
     /**
      * Shows the bids of the two bidders.
      * @param own the bit of this bidder
      * @param other the bid of other bidder
      */
-    void bids(Integer own, Integer other);
+    void bids(int own, int other);
+
+    /**
+     * Shows the bids of the two bidders and retrieves the next bid, the same as {@link #bids(int, int)} followed by
+     * {@link #placeBid()}. A bidder shared between threads overrides it, so nothing can happen between them.
+     * @param own the bid of this bidder
+     * @param other the bid of other bidder
+     * @return the next bid
+     */
+    default int round(int own, int other) {
+        bids(own, other);
+        return placeBid();
+    }
 
 }
@@ -0,0 +1,40 @@
+package com.task.bot.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Named implementation of the bidding, which can be chosen for every auction at its initialization.
+ * A strategy creates a new {@link Bidder} for an auction, and bidders of the strategy should share all precomputed
+ * data, so that creating one is cheap. Strategies are registered as beans.
+ */
+public interface BidderStrategy {
+
+    /**
+     * @return unique name of the strategy
+     */
+    String name();
+
+    /**
+     * @return a new bidder, which is not initialized yet
+     */
+    Bidder newBidder();
+
+    /**
+     * @param name unique name of the strategy
+     * @param bidders factory of bidders
+     * @return the strategy
+     */
+    static BidderStrategy of(String name, Supplier<? extends Bidder> bidders) {
+        return new BidderStrategy() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Bidder newBidder() {
+                return bidders.get();
+            }
+        };
+    }
+}
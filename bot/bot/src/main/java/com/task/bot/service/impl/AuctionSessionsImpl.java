@@ -0,0 +1,258 @@
+package com.task.bot.service.impl;
+
+import com.task.bot.exception.AuctionNotFoundException;
+import com.task.bot.journal.AuctionEvents;
+import com.task.bot.journal.AuctionJournal;
+import com.task.bot.service.AuctionSessions;
+import com.task.bot.service.Bidder;
+import com.task.bot.service.BidderStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@ConditionalOnProperty(name = "bidder.sessions.store", havingValue = "objects", matchIfMissing = true)
+public class AuctionSessionsImpl implements AuctionSessions {
+
+    private final ConcurrentMap<String, Session> sessions = new ConcurrentHashMap<>();
+    private final StrategyRegistry strategies;
+    private final AuctionJournal journal;
+
+    /**
+     * Sessions of the heuristic strategy only.
+     * @param stats counters of rounds and bid decisions shared by bidders of all auctions
+     */
+    public AuctionSessionsImpl(BidderStats stats) {
+        this(stats, AuctionJournal.NONE);
+    }
+
+    /**
+     * Sessions of the heuristic strategy only.
+     * @param stats counters of rounds and bid decisions shared by bidders of all auctions
+     * @param journal journal of the auctions
+     */
+    public AuctionSessionsImpl(BidderStats stats, AuctionJournal journal) {
+        this(StrategyRegistry.heuristic(stats), journal);
+    }
+
+    /**
+     * Rebuilds the auctions of the journal and then journals every call which changes a bidder.
+     * Replayed rounds and bids are counted by the stats as well.
+     * @param strategies strategies which auctions are played by
+     * @param journal journal of the auctions
+     */
+    @Autowired
+    public AuctionSessionsImpl(StrategyRegistry strategies, @Qualifier("auctionJournal") AuctionJournal journal) {
+        this.strategies = strategies;
+        this.journal = journal;
+        journal.replay(new Recovery());
+    }
+
+    /**
+     * Initialization of the auction. The session is created on the first call and re-initialized on the next ones,
+     * the same way as re-initialization of a single bidder sets up a new auction.
+     * The journal keeps the name of the strategy rather than null for the default one, so the auction is recovered
+     * by the same strategy even if the default one is changed.
+     * @param auctionId the auction id
+     * @param strategy name of the strategy, null for the default one
+     * @param opponentId id of the other bidder, null if it is unknown
+     * @param quantity the quantity
+     * @param cash the cash limit
+     */
+    @Override
+    public void init(String auctionId, String strategy, String opponentId, int quantity, int cash) {
+        BidderStrategy bidderStrategy = strategies.get(strategy);
+        Session session = lockCreatedSession(auctionId, bidderStrategy);
+        try {
+            session.init(bidderStrategy, opponentId, quantity, cash);
+            journal.init(auctionId, bidderStrategy.name(), opponentId, quantity, cash);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    @Override
+    public int placeBid(String auctionId) {
+        Session session = lockSession(auctionId);
+        try {
+            int bid = session.bidder.placeBid();
+            journal.placeBid(auctionId);
+            return bid;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    @Override
+    public void bids(String auctionId, int own, int other) {
+        Session session = lockSession(auctionId);
+        try {
+            session.bidder.bids(own, other);
+            journal.bids(auctionId, own, other);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    @Override
+    public int round(String auctionId, int own, int other) {
+        Session session = lockSession(auctionId);
+        try {
+            session.bidder.bids(own, other);
+            int bid = session.bidder.placeBid();
+            journal.round(auctionId, own, other);
+            return bid;
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String auctionId) {
+        Session session = lockSession(auctionId);
+        try {
+            sessions.remove(auctionId);
+            journal.remove(auctionId);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return sessions.size();
+    }
+
+    @Override
+    public Set<String> strategies() {
+        return strategies.names();
+    }
+
+    private Session createSession(String auctionId, BidderStrategy strategy) {
+        return sessions.computeIfAbsent(auctionId, id -> new Session(strategy));
+    }
+
+    /**
+     * Locks the session of the auction, creating it if there is none. A session removed from the registry while the
+     * lock was awaited is dropped, and the current one of the auction is taken instead.
+     * @return the locked session which is still held by the registry
+     */
+    private Session lockCreatedSession(String auctionId, BidderStrategy strategy) {
+        while (true) {
+            Session session = createSession(auctionId, strategy);
+            session.lock.lock();
+            if (sessions.get(auctionId) == session)
+                return session;
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * Locks the session of the auction. Sessions are removed from the registry under their lock only, so the locked
+     * session is checked to be still held by the registry, otherwise the current one of the auction is taken.
+     * @return the locked session which is still held by the registry
+     * @throws AuctionNotFoundException if there is no such auction
+     */
+    private Session lockSession(String auctionId) {
+        Session session = getSession(auctionId);
+        while (true) {
+            session.lock.lock();
+            Session current = sessions.get(auctionId);
+            if (current == session)
+                return session;
+            session.lock.unlock();
+            if (current == null)
+                throw new AuctionNotFoundException(auctionId);
+            session = current;
+        }
+    }
+
+    private Session getSession(String auctionId) {
+        Session session = sessions.get(auctionId);
+        if (session == null)
+            throw new AuctionNotFoundException(auctionId);
+        return session;
+    }
+
+    /**
+     * Applies journaled events to the bidders without journaling them again. Events of auctions which are not open,
+     * such as the ones of an auction whose initialization was compacted away before it was initialized again, are
+     * skipped, and auctions of strategies which are not registered anymore are recovered by the default
+     * strategy. Replayed auctions are learned by the opponent profiles again, so the profiles get back what they
+     * have learned from the auctions of the journal.
+     */
+    private final class Recovery implements AuctionEvents {
+
+        @Override
+        public void init(String auctionId, String strategy, String opponentId, int quantity, int cash) {
+            BidderStrategy bidderStrategy = strategy != null && strategies.names().contains(strategy)
+                    ? strategies.get(strategy)
+                    : strategies.getDefault();
+            createSession(auctionId, bidderStrategy).init(bidderStrategy, opponentId, quantity, cash);
+        }
+
+        @Override
+        public void placeBid(String auctionId) {
+            Session session = sessions.get(auctionId);
+            if (session != null)
+                session.bidder.replayBid();
+        }
+
+        @Override
+        public void bids(String auctionId, int own, int other) {
+            Session session = sessions.get(auctionId);
+            if (session != null)
+                session.bidder.bids(own, other);
+        }
+
+        @Override
+        public void round(String auctionId, int own, int other) {
+            Session session = sessions.get(auctionId);
+            if (session != null) {
+                session.bidder.bids(own, other);
+                session.bidder.replayBid();
+            }
+        }
+
+        @Override
+        public void remove(String auctionId) {
+            sessions.remove(auctionId);
+        }
+    }
+
+    /**
+     * Bidder of a single auction guarded by its own lock.
+     * The lock is a {@link ReentrantLock} rather than a monitor, so waiting callers do not pin virtual threads.
+     */
+    private static final class Session {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private BidderStrategy strategy;
+        private Bidder bidder;
+
+        private Session(BidderStrategy strategy) {
+            this.strategy = strategy;
+            this.bidder = strategy.newBidder();
+        }
+
+        /**
+         * Sets up a new auction, the bidder is replaced if the strategy is changed. Should be called under the lock.
+         */
+        private void init(BidderStrategy strategy, String opponentId, int quantity, int cash) {
+            if (strategy != this.strategy) {
+                Bidder bidder = strategy.newBidder();
+                bidder.init(quantity, cash, opponentId);
+                this.strategy = strategy;
+                this.bidder = bidder;
+                return;
+            }
+            bidder.init(quantity, cash, opponentId);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.task.bot.service.impl;
+
+/**
+ * Branches of the bid placing of {@link BidderImpl}.
+ */
+public enum BidDecision {
+
+    /**
+     * Zero bid: no quantity, no cash left, the auction is over or already won.
+     */
+    ZERO,
+    /**
+     * One unit bid when other bidder has spent all of his cash.
+     */
+    ONE_UNIT,
+    /**
+     * Planned bid without changes.
+     */
+    PLANNED,
+    /**
+     * A part of a later planned bid is moved to the current bid.
+     */
+    MOVED_TO_CURRENT,
+    /**
+     * A part of the current planned bid is moved to a later bid.
+     */
+    SHRUNK_CURRENT
+}
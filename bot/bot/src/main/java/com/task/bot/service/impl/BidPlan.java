@@ -0,0 +1,214 @@
+package com.task.bot.service.impl;
+
+import java.util.Arrays;
+
+/**
+ * Initial plan of own bids per round, computed in closed form instead of handing out cash unit by unit.
+ * The plan is the same as filling the rounds by each available monetary unit cell by cell until every round reaches
+ * the average, and then putting the units which are more than average from tail to head:
+ * - if the average is rounded up, cash is not enough for all rounds and the first (cash % rounds) rounds get one unit
+ * more than the rest,
+ * - if the average is rounded down, the surplus (cash % rounds) units form a wave at the tail: the first pass puts one
+ * unit to the last round, every next pass extends the wave by one round to the left and adds one unit to each round of
+ * the wave except the last one, so pass k (k > 1) puts k - 1 units, and the last incomplete pass fills the wave from
+ * its left side.
+ * In case, when total quantity equals 3, first of two bid rounds is more valuable and bidder put all of his cash.
+ * Bids changed during trades are kept as differences from the initial plan in a small open addressing table of rounds,
+ * so the memory is proportional to the number of changed rounds rather than to the number of rounds.
+ * One plan is re-initialized for every auction of the bidder and keeps its table.
+ */
+final class BidPlan {
+
+    private static final int EMPTY = -1;
+
+    private int rounds;
+    private int base;
+    private int headRounds;
+    private int wavePasses;
+    private int lastPassUnits;
+    private int firstRoundBid;
+    private int[] changedRounds = new int[0];
+    private int[] changes = new int[0];
+    private int changedCount;
+
+    BidPlan() {
+    }
+
+    /**
+     * @param quantity total amount of quantity units
+     * @param rounds number of auction rounds
+     * @param cash amount of monetary units available at the time of the start of trading
+     */
+    BidPlan(int quantity, int rounds, int cash) {
+        init(quantity, rounds, cash);
+    }
+
+    /**
+     * Setting up the initial plan of a new auction, all changes of the previous one are discarded.
+     * @param quantity total amount of quantity units
+     * @param rounds number of auction rounds
+     * @param cash amount of monetary units available at the time of the start of trading
+     */
+    void init(int quantity, int rounds, int cash) {
+        if (changedCount > 0) {
+            Arrays.fill(changedRounds, EMPTY);
+            changedCount = 0;
+        }
+        this.rounds = rounds;
+        if (rounds == 0 || quantity == 3) {
+            base = 0;
+            headRounds = 0;
+            wavePasses = 0;
+            lastPassUnits = 0;
+            firstRoundBid = rounds == 0 ? 0 : cash;
+            return;
+        }
+        base = cash / rounds;
+        int remainder = cash % rounds;
+        if (remainder >= rounds / 2) {
+            headRounds = remainder;
+            wavePasses = 0;
+            lastPassUnits = 0;
+        } else {
+            headRounds = 0;
+            wavePasses = calculateWavePasses(remainder);
+            lastPassUnits = (int) (remainder - calculateWaveUnits(wavePasses));
+        }
+        firstRoundBid = planned(0);
+    }
+
+    /**
+     * @return number of auction rounds
+     */
+    int rounds() {
+        return rounds;
+    }
+
+    /**
+     * Planned bid of the round with all changes.
+     * @param round round of bids, from 0 to rounds - 1
+     * @return planned bid
+     */
+    int get(int round) {
+        int bid = round == 0 ? firstRoundBid : planned(round);
+        if (changedCount == 0)
+            return bid;
+        int slot = slot(round);
+        return changedRounds[slot] == round ? bid + changes[slot] : bid;
+    }
+
+    /**
+     * Changing the planned bid of the round.
+     * @param round round of bids, from 0 to rounds - 1
+     * @param change amount of monetary units added to the bid, negative to take them away
+     */
+    void add(int round, int change) {
+        if (changedCount * 2 >= changedRounds.length)
+            grow();
+        int slot = slot(round);
+        if (changedRounds[slot] != round) {
+            changedRounds[slot] = round;
+            changes[slot] = 0;
+            changedCount++;
+        }
+        changes[slot] += change;
+    }
+
+    /**
+     * @return number of rounds with changed bids
+     */
+    int changedRounds() {
+        return changedCount;
+    }
+
+    /**
+     * Filling an array of rounds by planned bids.
+     * @param ownBidsPerRound array of the same length as number of rounds
+     */
+    void fill(int[] ownBidsPerRound) {
+        for (int round = 0; round < ownBidsPerRound.length; round++)
+            ownBidsPerRound[round] = get(round);
+    }
+
+    /**
+     * Linear probing of the changes table.
+     * @param round round of bids
+     * @return slot of the round or the empty slot where it should be put
+     */
+    private int slot(int round) {
+        int mask = changedRounds.length - 1;
+        int hash = round * 0x9E3779B9;
+        int slot = (hash ^ hash >>> 16) & mask;
+        while (changedRounds[slot] != EMPTY && changedRounds[slot] != round)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldRounds = changedRounds;
+        int[] oldChanges = changes;
+        changedRounds = new int[Math.max(8, oldRounds.length * 2)];
+        changes = new int[changedRounds.length];
+        Arrays.fill(changedRounds, EMPTY);
+        for (int i = 0; i < oldRounds.length; i++) {
+            if (oldRounds[i] != EMPTY) {
+                int slot = slot(oldRounds[i]);
+                changedRounds[slot] = oldRounds[i];
+                changes[slot] = oldChanges[i];
+            }
+        }
+    }
+
+    private int planned(int round) {
+        return planned(round, rounds, base, headRounds, wavePasses, lastPassUnits);
+    }
+
+    /**
+     * Initial planned bid of the round, except the first round of the quantity 3.
+     * @param round round of bids, from 0 to rounds - 1
+     * @param rounds number of auction rounds
+     * @param base cash divided by rounds
+     * @param headRounds number of first rounds with one unit more than the base
+     * @param wavePasses number of complete passes of the tail wave
+     * @param lastPassUnits units of the last incomplete pass of the tail wave
+     * @return planned bid
+     */
+    static int planned(int round, int rounds, int base, int headRounds, int wavePasses, int lastPassUnits) {
+        if (round < headRounds)
+            return base + 1;
+        if (wavePasses == 0)
+            return base;
+        int fromTail = rounds - 1 - round;
+        if (fromTail == 0)
+            return base + 1;
+        if (fromTail < wavePasses)
+            return base + wavePasses - fromTail + (fromTail > wavePasses - lastPassUnits ? 1 : 0);
+        if (fromTail == wavePasses && lastPassUnits > 0)
+            return base + 1;
+        return base;
+    }
+
+    /**
+     * Number of complete passes of the tail wave for the surplus units.
+     * @param surplus units which are more than average
+     * @return the biggest number of passes which puts no more units than surplus
+     */
+    static int calculateWavePasses(int surplus) {
+        if (surplus == 0)
+            return 0;
+        int passes = (int) ((1 + Math.sqrt(8.0 * surplus - 7)) / 2);
+        while (calculateWaveUnits(passes + 1) <= surplus)
+            passes++;
+        while (calculateWaveUnits(passes) > surplus)
+            passes--;
+        return passes;
+    }
+
+    /**
+     * @param passes number of complete passes of the tail wave
+     * @return units put by the passes: 1 for the first pass and k - 1 for the pass k
+     */
+    static long calculateWaveUnits(int passes) {
+        return passes == 0 ? 0 : 1 + (long) passes * (passes - 1) / 2;
+    }
+}
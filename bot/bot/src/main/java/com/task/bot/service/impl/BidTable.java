@@ -0,0 +1,200 @@
+package com.task.bot.service.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.IntStream;
+
+/**
+ * Optimal bids of an auction against the {@link OpponentModel}, solved by dynamic programming backwards from the
+ * last round. Since the model bids by its own state only, the other bidder bids o(k) in the round k and its cash left
+ * is known for every round, so the state of the game is (round, own cash left, quantity won difference) and the
+ * value is a loss, a tie or a win, comparing the cash left when the quantity is equal.
+ * Against the known bid o(k) only three bids are worth considering: 0 (the cheapest loss), o(k) (the cheapest tie)
+ * and o(k) + 1 (the cheapest win), any other bid gets the same result for more cash. On equal values the cheaper
+ * bid is taken.
+ * The table keeps the action per state in 2 bits. Rounds are solved one by one, and the states of a round are
+ * solved in parallel by own cash left, rows of different cash never share a byte.
+ */
+final class BidTable {
+
+    static final int ZERO = 0;
+    static final int TIE = 1;
+    static final int WIN = 2;
+
+    /**
+     * States of the largest table, whose actions fit into a single byte array.
+     */
+    static final long MAX_CELLS = 4L * (Integer.MAX_VALUE - 8);
+
+    private static final int MAGIC = 0x42494454;
+
+    private final int quantity;
+    private final int cash;
+    private final int rounds;
+    private final long stride;
+    private final byte[] actions;
+
+    private BidTable(int quantity, int cash, byte[] actions) {
+        this.quantity = quantity;
+        this.cash = cash;
+        this.rounds = rounds(quantity);
+        this.stride = stride(quantity);
+        this.actions = actions;
+    }
+
+    /**
+     * @param quantity the quantity
+     * @param cash the cash limit
+     * @return number of states of the table, Long.MAX_VALUE if the values of a round do not fit into an array or the
+     * number does not fit into long
+     */
+    static long cells(int quantity, int cash) {
+        if ((cash + 1L) * (2L * quantity + 1) > Integer.MAX_VALUE - 8)
+            return Long.MAX_VALUE;
+        try {
+            return Math.multiplyExact(rounds(quantity) * (cash + 1L), stride(quantity));
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Solves the auction against the model. The table should not have more than {@link #MAX_CELLS} states.
+     * @param model model of the other bidder
+     * @param quantity the quantity
+     * @param cash the cash limit of both bidders
+     * @return table of the optimal actions
+     */
+    static BidTable solve(OpponentModel model, int quantity, int cash) {
+        int rounds = rounds(quantity);
+        int[] otherBids = new int[rounds];
+        int otherCash = cash;
+        for (int round = 0; round < rounds; round++) {
+            otherBids[round] = Math.max(0, Math.min(model.bid(rounds, rounds - round, otherCash), otherCash));
+            otherCash -= otherBids[round];
+        }
+        int width = 2 * quantity + 1;
+        byte[] next = new byte[(cash + 1) * width];
+        byte[] current = new byte[next.length];
+        for (int cashLeft = 0; cashLeft <= cash; cashLeft++)
+            for (int difference = -quantity; difference <= quantity; difference++)
+                next[cashLeft * width + difference + quantity] = (byte) (difference != 0
+                        ? (difference > 0 ? WIN : ZERO)
+                        : Integer.compare(cashLeft, otherCash) + 1);
+        byte[] actions = new byte[actionsLength(quantity, cash)];
+        long stride = stride(quantity);
+        for (int round = rounds - 1; round >= 0; round--) {
+            int units = Math.min(2, quantity - 2 * round);
+            int other = otherBids[round];
+            long rowOffset = (long) round * (cash + 1);
+            byte[] values = next;
+            byte[] solved = current;
+            IntStream.rangeClosed(0, cash).parallel().forEach(cashLeft -> {
+                long row = (rowOffset + cashLeft) * stride;
+                for (int difference = -quantity; difference <= quantity; difference++) {
+                    int action = ZERO;
+                    int value = values[cashLeft * width + clamp(other > 0 ? difference - units : difference, quantity)
+                            + quantity];
+                    if (other > 0 && other <= cashLeft) {
+                        int tie = values[(cashLeft - other) * width + difference + quantity];
+                        if (tie > value) {
+                            action = TIE;
+                            value = tie;
+                        }
+                    }
+                    if (other + 1 <= cashLeft) {
+                        int win = values[(cashLeft - other - 1) * width + clamp(difference + units, quantity)
+                                + quantity];
+                        if (win > value) {
+                            action = WIN;
+                            value = win;
+                        }
+                    }
+                    solved[cashLeft * width + difference + quantity] = (byte) value;
+                    long index = row + difference + quantity;
+                    actions[(int) (index >>> 2)] |= (byte) (action << ((index & 3) << 1));
+                }
+            });
+            current = next;
+            next = solved;
+        }
+        return new BidTable(quantity, cash, actions);
+    }
+
+    /**
+     * @param round round of bids, from 0 to rounds - 1
+     * @param cashLeft own cash left
+     * @param difference own quantity won minus quantity won by the other bidder
+     * @return {@link #ZERO}, {@link #TIE} or {@link #WIN}
+     */
+    int action(int round, int cashLeft, int difference) {
+        long index = ((long) round * (cash + 1) + Math.min(cashLeft, cash)) * stride
+                + clamp(difference, quantity) + quantity;
+        return actions[(int) (index >>> 2)] >>> ((index & 3) << 1) & 3;
+    }
+
+    int rounds() {
+        return rounds;
+    }
+
+    /**
+     * Writes the table to a temporary file and moves it to the target, so readers never see a partial table.
+     * @param file target file
+     */
+    void save(Path file, OpponentModel model) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeUTF(model.name());
+            out.writeInt(quantity);
+            out.writeInt(cash);
+            out.write(actions);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param file file written by {@link #save(Path, OpponentModel)}
+     * @return the table or null if the file does not exist or holds a table of other parameters
+     */
+    static BidTable load(Path file, OpponentModel model, int quantity, int cash) throws IOException {
+        if (!Files.exists(file))
+            return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || !in.readUTF().equals(model.name())
+                    || in.readInt() != quantity || in.readInt() != cash)
+                return null;
+            byte[] actions = new byte[actionsLength(quantity, cash)];
+            in.readFully(actions);
+            return new BidTable(quantity, cash, actions);
+        }
+    }
+
+    private static int actionsLength(int quantity, int cash) {
+        long cells = cells(quantity, cash);
+        if (cells > MAX_CELLS)
+            throw new IllegalArgumentException("Table of quantity " + quantity + " and cash " + cash + " is too big");
+        return (int) (cells / 4);
+    }
+
+    private static int rounds(int quantity) {
+        return quantity % 2 == 0 ? quantity / 2 : quantity / 2 + 1;
+    }
+
+    /**
+     * @return cells per row of the own cash left, aligned to 4 so that a byte never holds cells of two rows
+     */
+    private static long stride(int quantity) {
+        return (2L * quantity + 1 + 3) & ~3L;
+    }
+
+    private static int clamp(int difference, int quantity) {
+        return Math.max(-quantity, Math.min(difference, quantity));
+    }
+}
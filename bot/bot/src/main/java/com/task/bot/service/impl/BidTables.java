@@ -0,0 +1,131 @@
+package com.task.bot.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache of solved {@link BidTable}s against one opponent model, keyed by (quantity, cash) and shared by all
+ * {@link DpBidder}s. The memory is bounded by the total number of states of the cached tables, the least recently
+ * used tables are evicted first. A table is solved once even if many bidders ask for it at the same time,
+ * and if a directory is given, tables are saved there and loaded instead of being solved again after a restart.
+ * Tables of more states than the per table limit are not solved at all.
+ */
+public class BidTables {
+
+    private final OpponentModel model;
+    private final long maxCells;
+    private final long maxTableCells;
+    private final Path dir;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, CompletableFuture<BidTable>> tables = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedCells;
+
+    /**
+     * @param model model of the other bidder
+     * @param maxCells states of all cached tables, 4 states take a byte
+     * @param maxTableCells states of a single table
+     * @param dir directory of saved tables, null to keep them in memory only
+     */
+    public BidTables(OpponentModel model, long maxCells, long maxTableCells, Path dir) {
+        this.model = model;
+        this.maxCells = maxCells;
+        this.maxTableCells = Math.min(Math.min(maxTableCells, maxCells), BidTable.MAX_CELLS);
+        this.dir = dir;
+    }
+
+    public OpponentModel model() {
+        return model;
+    }
+
+    /**
+     * @return number of cached tables
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return tables.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param quantity the quantity
+     * @param cash the cash limit
+     * @return the solved table or null if it is too big
+     */
+    BidTable get(int quantity, int cash) {
+        long cells = BidTable.cells(quantity, cash);
+        if (cells > maxTableCells)
+            return null;
+        long key = (long) quantity << 32 | cash;
+        CompletableFuture<BidTable> table;
+        boolean created = false;
+        lock.lock();
+        try {
+            table = tables.get(key);
+            if (table == null) {
+                table = new CompletableFuture<>();
+                tables.put(key, table);
+                cachedCells += cells;
+                evict(key);
+                created = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (created) {
+            try {
+                table.complete(loadOrSolve(quantity, cash));
+            } catch (Throwable e) {
+                // errors as well, such as OutOfMemoryError, so the waiting callers are released and the next call
+                // solves the table again
+                table.completeExceptionally(e);
+                lock.lock();
+                try {
+                    if (tables.remove(key, table))
+                        cachedCells -= cells;
+                } finally {
+                    lock.unlock();
+                }
+                throw e;
+            }
+        }
+        return table.join();
+    }
+
+    private void evict(long keep) {
+        Iterator<Map.Entry<Long, CompletableFuture<BidTable>>> eldest = tables.entrySet().iterator();
+        while (cachedCells > maxCells && eldest.hasNext()) {
+            long key = eldest.next().getKey();
+            if (key != keep) {
+                eldest.remove();
+                cachedCells -= BidTable.cells((int) (key >>> 32), (int) key);
+            }
+        }
+    }
+
+    private BidTable loadOrSolve(int quantity, int cash) {
+        if (dir == null)
+            return BidTable.solve(model, quantity, cash);
+        Path file = dir.resolve("bids-" + model + "-" + quantity + "-" + cash + ".bin");
+        try {
+            BidTable table = BidTable.load(file, model, quantity, cash);
+            if (table == null) {
+                table = BidTable.solve(model, quantity, cash);
+                Files.createDirectories(dir);
+                table.save(file, model);
+            }
+            return table;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,22 +1,57 @@
 package com.task.bot.service.impl;
 
 import com.task.bot.service.Bidder;
-import org.springframework.stereotype.Service;
 
-@Service
+import java.util.Arrays;
+
 public class BidderImpl implements Bidder {
 
-    private Integer totalQuantity = 0;
-    private Integer ownCashLeft = 0;
-    private Integer otherCashLeft = 0;
-    private Integer amountWon = 0;
-    private int[] ownBidsPerRound;
-    private Integer average = 0;
-    private Integer round = 0;
-    private Integer prevOtherBid = 0;
-    private Integer bidMovingRound = 0;
-    private Integer bidChangeUnit = 0;
-    private Integer totalCash = 0;
+    /**
+     * Number of finished auctions against an opponent after which its profile is trusted.
+     */
+    static final int PROFILED_AUCTIONS = 3;
+
+    private int totalQuantity;
+    private int ownCashLeft;
+    private int otherCashLeft;
+    private int amountWon;
+    private final BidPlan ownBidsPerRound = new BidPlan();
+    private int average;
+    private int round;
+    private int prevOtherBid;
+    private int bidMovingRound;
+    private int bidChangeUnit;
+    private int totalCash;
+    private int rounds;
+    private final BidderStats stats;
+    private final OpponentProfiles profiles;
+    private long opponentKey;
+    private int opponentSlot = -1;
+    private boolean profiled;
+    private int phase;
+    private int nextPhaseRound;
+    private final int[] otherSpent = new int[OpponentProfiles.PHASES];
+    private final int[] expectedOtherBids = new int[OpponentProfiles.PHASES];
+
+    public BidderImpl() {
+        this(BidderStats.NONE);
+    }
+
+    /**
+     * @param stats counters of rounds and bid decisions of this bidder, usually shared with other bidders
+     */
+    public BidderImpl(BidderStats stats) {
+        this(stats, OpponentProfiles.NONE);
+    }
+
+    /**
+     * @param stats counters of rounds and bid decisions of this bidder, usually shared with other bidders
+     * @param profiles profiles of opponents, usually shared with other bidders
+     */
+    public BidderImpl(BidderStats stats, OpponentProfiles profiles) {
+        this.stats = stats;
+        this.profiles = profiles;
+    }
 
     /**
      * Initialization of trades with total amount of quantity units and available monetary units for both bidders.
@@ -26,6 +61,8 @@ public class BidderImpl implements Bidder {
      * - ownCashLeft: amount of available monetary units for this bidder,
      * - otherCashLeft: amount of available monetary units for other bidder,
      * - amountWon: amount of quantity units won by bidder,
+     * - round: current round of trades, which starts from 0,
+     * - prevOtherBid: previous bid of other bidder, 0 before the first round,
      * - rounds: number of rounds of trades which is an average of totalQuantity and size of quantity unit batch,
      * that is rounded to nearest or bigger integer
      * - ownBidsPerRound: bidders plan of bids for trades,
@@ -45,14 +82,50 @@ public class BidderImpl implements Bidder {
         ownCashLeft = cash;
         otherCashLeft = cash;
         amountWon = 0;
-        int rounds = calculateRoundsNumber(quantity);
-        ownBidsPerRound = new int[rounds];
+        round = 0;
+        prevOtherBid = 0;
+        rounds = calculateRoundsNumber(quantity);
+        opponentSlot = -1;
+        profiled = false;
+        nextPhaseRound = -1;
         average = calculateAverage(cash, rounds);
-        fillRoundsByPossibleBids(ownBidsPerRound, average, cash);
+        fillRoundsByPossibleBids(rounds, cash);
         bidMovingRound = rounds - 1;
         bidChangeUnit = Math.max(average / 2, 1);
     }
 
+    /**
+     * Initialization of trades against a known opponent. Cash spent by the opponent is summed up per phase of the
+     * auction and learned by its profile when the auction is finished. Once the profile has learned
+     * {@link #PROFILED_AUCTIONS} auctions, {@link #getOwnPossibleBid()} takes the mean of the previous bid of the
+     * opponent and the bid expected from it in the current round by its profile, so the bidder moves cash to or from
+     * the rounds the opponent is going to fight for, rather than only reacting to the rounds it has already fought
+     * for. The mean keeps the reaction to the current auction, which the profile can not foresee for random bids.
+     * Expected bids per round of every phase are taken from the profile here, and the phase of the current round is
+     * moved on by {@link #bids(int, int)}, so placing a bid neither reads the shared profile nor divides.
+     * @param quantity the quantity
+     * @param cash the cash limit
+     * @param opponentId id of the other bidder, null if it is unknown
+     */
+    @Override
+    public void init(int quantity, int cash, String opponentId) {
+        init(quantity, cash);
+        if (opponentId == null || profiles == OpponentProfiles.NONE)
+            return;
+        opponentKey = OpponentProfiles.fingerprint(opponentId);
+        opponentSlot = profiles.acquire(opponentKey);
+        profiled = profiles.auctions(opponentSlot, opponentKey) >= PROFILED_AUCTIONS;
+        Arrays.fill(otherSpent, 0);
+        for (int i = 0; i < OpponentProfiles.PHASES; i++) {
+            int phaseRounds = phaseStart(i + 1) - phaseStart(i);
+            expectedOtherBids[i] = !profiled || phaseRounds == 0 ? 0
+                    : (int) ((long) profiles.shape(opponentSlot, i) * cash / OpponentProfiles.ONE / phaseRounds);
+        }
+        phase = 0;
+        nextPhaseRound = 0;
+        movePhase();
+    }
+
     /**
      * Placing an own bid depending on state of trading.
      * Bid is 0 in case of:
@@ -69,11 +142,15 @@ public class BidderImpl implements Bidder {
     public int placeBid() {
         if (totalQuantity == 0
                 || ownCashLeft <= 0
-                || round >= ownBidsPerRound.length
-                || amountWon > (totalQuantity - amountWon))
+                || round >= ownBidsPerRound.rounds()
+                || amountWon > (totalQuantity - amountWon)) {
+            stats.recordDecision(BidDecision.ZERO);
             return 0;
-        if (otherCashLeft == 0)
+        }
+        if (otherCashLeft == 0) {
+            stats.recordDecision(BidDecision.ONE_UNIT);
             return 1;
+        }
         return Math.min(getOwnPossibleBid(), ownCashLeft);
     }
 
@@ -87,12 +164,20 @@ public class BidderImpl implements Bidder {
      * @param other the bid of other bidder
      */
     @Override
-    public void bids(Integer own, Integer other) {
+    public void bids(int own, int other) {
         ownCashLeft -= own;
         otherCashLeft -= other;
-        amountWon += own.compareTo(other) + 1;
+        amountWon += Integer.compare(own, other) + 1;
         prevOtherBid = other;
+        if (opponentSlot >= 0 && round < rounds) {
+            otherSpent[phase] += other;
+            if (round == rounds - 1)
+                profiles.learn(opponentSlot, opponentKey, otherSpent, totalCash);
+        }
         round++;
+        if (round == nextPhaseRound)
+            movePhase();
+        stats.recordRound();
     }
 
     /**
@@ -115,19 +200,51 @@ public class BidderImpl implements Bidder {
      * @return planned bid amount, probably changed to the accepted value of the bid change.
      */
     private int getOwnPossibleBid() {
-        if (prevOtherBid > average && !(round < ownBidsPerRound.length / 2 && otherCashLeft < totalCash / 2)) {
-            while (bidMovingRound > round && ownBidsPerRound[bidMovingRound] <= bidChangeUnit)
+        BidDecision decision = BidDecision.PLANNED;
+        int otherBid = profiled ? (int) (((long) prevOtherBid + expectedOtherBid()) / 2) : prevOtherBid;
+        if (otherBid > average && !(round < ownBidsPerRound.rounds() / 2 && otherCashLeft < totalCash / 2)) {
+            while (bidMovingRound > round && ownBidsPerRound.get(bidMovingRound) <= bidChangeUnit)
                 bidMovingRound--;
-            if (bidMovingRound > round && ownBidsPerRound[bidMovingRound] >= bidChangeUnit + 1) {
-                ownBidsPerRound[bidMovingRound] -= bidChangeUnit;
-                ownBidsPerRound[round] += bidChangeUnit;
+            if (bidMovingRound > round && ownBidsPerRound.get(bidMovingRound) >= bidChangeUnit + 1) {
+                ownBidsPerRound.add(bidMovingRound, -bidChangeUnit);
+                ownBidsPerRound.add(round, bidChangeUnit);
+                decision = BidDecision.MOVED_TO_CURRENT;
             }
         }
-        if (prevOtherBid < average && otherCashLeft > ownCashLeft && ownBidsPerRound[round] >= bidChangeUnit + 1) {
-            ownBidsPerRound[round] -= bidChangeUnit;
-            ownBidsPerRound[bidMovingRound] += bidChangeUnit;
+        if (otherBid < average && otherCashLeft > ownCashLeft && ownBidsPerRound.get(round) >= bidChangeUnit + 1) {
+            ownBidsPerRound.add(round, -bidChangeUnit);
+            ownBidsPerRound.add(bidMovingRound, bidChangeUnit);
+            decision = BidDecision.SHRUNK_CURRENT;
         }
-        return ownBidsPerRound[round];
+        stats.recordDecision(decision);
+        return ownBidsPerRound.get(round);
+    }
+
+    /**
+     * Bid of the other bidder expected in the current round by its profile: its share of the total cash for the
+     * phase of the round, split evenly between the rounds of the phase, but not more than its cash left.
+     * @return expected bid of the other bidder
+     */
+    private int expectedOtherBid() {
+        return Math.min(expectedOtherBids[phase], otherCashLeft);
+    }
+
+    /**
+     * Moving to the last phase which starts not later than the current round, skipping phases without rounds
+     * of short auctions.
+     */
+    private void movePhase() {
+        while (phase + 1 < OpponentProfiles.PHASES && phaseStart(phase + 1) <= round)
+            phase++;
+        nextPhaseRound = phase + 1 < OpponentProfiles.PHASES ? phaseStart(phase + 1) : -1;
+    }
+
+    /**
+     * @param phase phase of the auction
+     * @return first round of the phase
+     */
+    private int phaseStart(int phase) {
+        return (int) (((long) phase * rounds + OpponentProfiles.PHASES - 1) / OpponentProfiles.PHASES);
     }
 
      /**
@@ -159,29 +276,13 @@ public class BidderImpl implements Bidder {
      * Each of available monetary unit is put in cell right to left until it reaches the average value.
      * Otherwise, the order changes and units which more that average are put from tail to head of the array.
      * In case, when total quantity equals 3, first of two bid rounds is more valuable and bidder put all of his cash.
+     * The resulting distribution is computed per round by {@link BidPlan}, so neither time nor memory depend on cash
+     * or number of rounds.
      * @param rounds rounds of bidding for each party of two (or last one?) quantity units
-     * @param average an average of total cash and total quantity, that is rounded to nearest or bigger integer
      * @param cash amount of monetary units available at the time of the start of trading
      */
-    private void fillRoundsByPossibleBids(int[] rounds, int average, int cash) {
-        if (rounds.length == 0)
-            return;
-        if (totalQuantity == 3) {
-            rounds[0] = cash;
-            return;
-        }
-        int position = 0;
-        while (cash > 0) {
-            if (rounds[position] < average ||
-                    (position == rounds.length - 1 && rounds[position] == average) ||
-                    (position < rounds.length - 1 && rounds[position + 1] > average)) {
-                cash--;
-                rounds[position] += 1;
-            }
-            position++;
-            if (position == rounds.length)
-                position = 0;
-        }
+    private void fillRoundsByPossibleBids(int rounds, int cash) {
+        ownBidsPerRound.init(totalQuantity, rounds, cash);
     }
 
     /**
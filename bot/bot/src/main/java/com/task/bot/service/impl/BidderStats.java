@@ -0,0 +1,54 @@
+package com.task.bot.service.impl;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of rounds and bid decisions shared by many bidders. Counters are {@link LongAdder}s, so bidders of
+ * concurrent auctions increment them without contention, and readers such as metric registries sum them lazily.
+ */
+public class BidderStats {
+
+    /**
+     * Stats that count nothing, for bidders without metrics.
+     */
+    public static final BidderStats NONE = new BidderStats(false);
+
+    private final boolean enabled;
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder[] decisions = new LongAdder[BidDecision.values().length];
+
+    public BidderStats() {
+        this(true);
+    }
+
+    private BidderStats(boolean enabled) {
+        this.enabled = enabled;
+        for (int i = 0; i < decisions.length; i++)
+            decisions[i] = new LongAdder();
+    }
+
+    void recordRound() {
+        if (enabled)
+            rounds.increment();
+    }
+
+    void recordDecision(BidDecision decision) {
+        if (enabled)
+            decisions[decision.ordinal()].increment();
+    }
+
+    /**
+     * @return number of rounds shown to the bidders
+     */
+    public long rounds() {
+        return rounds.sum();
+    }
+
+    /**
+     * @param decision branch of the bid placing
+     * @return number of times the branch fired
+     */
+    public long decisions(BidDecision decision) {
+        return decisions[decision.ordinal()].sum();
+    }
+}
@@ -0,0 +1,87 @@
+package com.task.bot.service.impl;
+
+import com.task.bot.service.Bidder;
+
+/**
+ * Bidder which plays the optimal bids against an {@link OpponentModel}, solved by dynamic programming in advance.
+ * The table of the auction is taken from the shared {@link BidTables} on initialization, and then placing a bid is a
+ * lookup of the action for the current round, own cash left and quantity won difference: bid 0, the bid expected
+ * from the other bidder by the model for its actual cash left, or one unit more.
+ * Auctions which are too big to be solved are played by the fallback bidder.
+ */
+public class DpBidder implements Bidder {
+
+    private final BidTables tables;
+    private final Bidder fallback;
+    private BidTable table;
+    private int totalQuantity;
+    private int rounds;
+    private int round;
+    private int ownCashLeft;
+    private int otherCashLeft;
+    private int difference;
+
+    /**
+     * @param tables cache of solved tables
+     * @param fallback bidder of auctions without table
+     */
+    public DpBidder(BidTables tables, Bidder fallback) {
+        this.tables = tables;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public void init(int quantity, int cash) {
+        init(quantity, cash, null);
+    }
+
+    /**
+     * The opponent is passed to the fallback bidder only, the tables are solved against the model.
+     */
+    @Override
+    public void init(int quantity, int cash, String opponentId) {
+        if (quantity < 0)
+            throw new IllegalArgumentException("Total amount of quantity units can not be less than 0");
+        if (cash < 0)
+            throw new IllegalArgumentException("Initial amount of monetary units can not be less than 0");
+        table = tables.get(quantity, cash);
+        if (table == null) {
+            fallback.init(quantity, cash, opponentId);
+            return;
+        }
+        totalQuantity = quantity;
+        rounds = table.rounds();
+        round = 0;
+        ownCashLeft = cash;
+        otherCashLeft = cash;
+        difference = 0;
+    }
+
+    @Override
+    public int placeBid() {
+        if (table == null)
+            return fallback.placeBid();
+        if (round >= rounds || ownCashLeft <= 0)
+            return 0;
+        int other = Math.max(0, Math.min(tables.model().bid(rounds, rounds - round, otherCashLeft), otherCashLeft));
+        int bid = switch (table.action(round, ownCashLeft, difference)) {
+            case BidTable.ZERO -> 0;
+            case BidTable.TIE -> other;
+            default -> other + 1;
+        };
+        return Math.min(bid, ownCashLeft);
+    }
+
+    @Override
+    public void bids(int own, int other) {
+        if (table == null) {
+            fallback.bids(own, other);
+            return;
+        }
+        int units = Math.min(2, totalQuantity - 2 * round);
+        ownCashLeft -= own;
+        otherCashLeft -= other;
+        difference += Integer.signum(own - other) * Math.max(units, 0);
+        round++;
+    }
+}
@@ -0,0 +1,515 @@
+package com.task.bot.service.impl;
+
+import com.task.bot.exception.AuctionNotFoundException;
+import com.task.bot.exception.UnknownStrategyException;
+import com.task.bot.journal.AuctionEvents;
+import com.task.bot.journal.AuctionJournal;
+import com.task.bot.service.AuctionSessions;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sessions of the heuristic strategy packed into flat primitive arenas instead of a {@link BidderImpl} object graph
+ * per auction, for millions of concurrent auctions per node. It is used when bidder.sessions.store=flat.
+ * Auctions are spread over stripes by the hash of the id, and a stripe holds an open addressing table of ids with
+ * linear probing and an int arena with a row of {@link #WIDTH} ints per auction at the same index, guarded by one
+ * {@link ReentrantLock}. So an auction costs a reference and a row of the arena rather than a dozen objects, and the
+ * garbage collector sees two arrays per stripe whatever the number of auctions.
+ * A row plays exactly the same bids as {@link BidderImpl}. Its plan of bids is not kept per round: initial bids are
+ * computed in closed form by {@link BidPlan}, and bids are changed in the current round and in the round of the moving
+ * cursor only, so the row keeps the bids of these two rounds. A round left by the cursor is never changed again, and
+ * its bid is at most the bid change unit and differs from the initial bid by a multiple of the unit, which gives the
+ * bid back when the auction gets to the round. A left bid which differs from the computed one anyway is spilled to
+ * {@link SpilledBids} of the stripe, so a row stays exact whatever the calls are.
+ * Only the heuristic strategy is played, and opponents are not learned.
+ */
+@Service
+@ConditionalOnProperty(name = "bidder.sessions.store", havingValue = "flat")
+public class FlatAuctionSessions implements AuctionSessions {
+
+    static final int WIDTH = 18;
+
+    private static final int QUANTITY = 0;
+    private static final int CASH = 1;
+    private static final int OWN_CASH_LEFT = 2;
+    private static final int OTHER_CASH_LEFT = 3;
+    private static final int AMOUNT_WON = 4;
+    private static final int ROUND = 5;
+    private static final int PREV_OTHER_BID = 6;
+    private static final int CURSOR = 7;
+    private static final int ROUND_BID = 8;
+    private static final int CURSOR_BID = 9;
+    private static final int AVERAGE = 10;
+    private static final int CHANGE_UNIT = 11;
+    private static final int BASE = 12;
+    private static final int HEAD_ROUNDS = 13;
+    private static final int WAVE_PASSES = 14;
+    private static final int LAST_PASS_UNITS = 15;
+    private static final int SERIAL = 16;
+    private static final int SPILLED = 17;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final BidderStats stats;
+    private final AuctionJournal journal;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param stats counters of rounds and bid decisions of all auctions
+     */
+    public FlatAuctionSessions(BidderStats stats) {
+        this(stats, AuctionJournal.NONE, 64);
+    }
+
+    /**
+     * Rebuilds the auctions of the journal and then journals every call which changes an auction.
+     * @param stats counters of rounds and bid decisions of all auctions
+     * @param journal journal of the auctions
+     * @param stripes number of stripes, rounded up to a power of two
+     */
+    @Autowired
+    public FlatAuctionSessions(BidderStats stats, @Qualifier("auctionJournal") AuctionJournal journal,
+                               @Value("${bidder.sessions.stripes:64}") int stripes) {
+        int count = Integer.highestOneBit(Math.max(stripes, 2) - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++)
+            this.stripes[i] = new Stripe();
+        this.stripeShift = 32 - Integer.numberOfTrailingZeros(count);
+        this.stats = stats;
+        this.journal = journal;
+        journal.replay(new Recovery());
+    }
+
+    /**
+     * Initialization of the auction by the heuristic strategy, the journal keeps its name.
+     * @param auctionId the auction id
+     * @param strategy name of the strategy, null or heuristic
+     * @param opponentId id of the other bidder, journaled but not learned
+     * @param quantity the quantity
+     * @param cash the cash limit
+     */
+    @Override
+    public void init(String auctionId, String strategy, String opponentId, int quantity, int cash) {
+        if (strategy != null && !strategy.equals(StrategyRegistry.HEURISTIC))
+            throw new UnknownStrategyException(strategy);
+        checkNegativeInitParams(quantity, cash);
+        int hash = hash(auctionId);
+        Stripe stripe = stripe(hash);
+        stripe.lock.lock();
+        try {
+            stripe.init(auctionId, hash, quantity, cash);
+            journal.init(auctionId, StrategyRegistry.HEURISTIC, opponentId, quantity, cash);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public int placeBid(String auctionId) {
+        int hash = hash(auctionId);
+        Stripe stripe = stripe(hash);
+        stripe.lock.lock();
+        try {
+            int bid = stripe.placeBid(stripe.row(auctionId, hash));
+            journal.placeBid(auctionId);
+            return bid;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void bids(String auctionId, int own, int other) {
+        int hash = hash(auctionId);
+        Stripe stripe = stripe(hash);
+        stripe.lock.lock();
+        try {
+            stripe.bids(stripe.row(auctionId, hash), own, other);
+            journal.bids(auctionId, own, other);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public int round(String auctionId, int own, int other) {
+        int hash = hash(auctionId);
+        Stripe stripe = stripe(hash);
+        stripe.lock.lock();
+        try {
+            int row = stripe.row(auctionId, hash);
+            stripe.bids(row, own, other);
+            int bid = stripe.placeBid(row);
+            journal.round(auctionId, own, other);
+            return bid;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String auctionId) {
+        int hash = hash(auctionId);
+        Stripe stripe = stripe(hash);
+        stripe.lock.lock();
+        try {
+            stripe.remove(auctionId, hash);
+            journal.remove(auctionId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return the heuristic strategy only
+     */
+    @Override
+    public Set<String> strategies() {
+        return Set.of(StrategyRegistry.HEURISTIC);
+    }
+
+    private static int hash(String auctionId) {
+        return auctionId.hashCode() * 0x9E3779B9;
+    }
+
+    /**
+     * The stripe is taken by the high bits of the hash, and the slot of the stripe table by the low ones.
+     */
+    private Stripe stripe(int hash) {
+        return stripes[hash >>> stripeShift];
+    }
+
+    private static int rounds(int quantity) {
+        return (quantity >>> 1) + (quantity & 1);
+    }
+
+    private static void checkNegativeInitParams(int quantity, int cash) {
+        if (quantity < 0)
+            throw new IllegalArgumentException("Total amount of quantity units can not be less than 0");
+        if (cash < 0)
+            throw new IllegalArgumentException("Initial amount of monetary units can not be less than 0");
+    }
+
+    /**
+     * Applies journaled events without journaling them again. Events of unknown auctions are skipped, and auctions of
+     * other strategies are recovered by the heuristic one.
+     */
+    private final class Recovery implements AuctionEvents {
+
+        @Override
+        public void init(String auctionId, String strategy, String opponentId, int quantity, int cash) {
+            int hash = hash(auctionId);
+            stripe(hash).init(auctionId, hash, quantity, cash);
+        }
+
+        @Override
+        public void placeBid(String auctionId) {
+            int hash = hash(auctionId);
+            Stripe stripe = stripe(hash);
+            int row = stripe.find(auctionId, hash);
+            if (row >= 0)
+                stripe.placeBid(row * WIDTH);
+        }
+
+        @Override
+        public void bids(String auctionId, int own, int other) {
+            int hash = hash(auctionId);
+            Stripe stripe = stripe(hash);
+            int row = stripe.find(auctionId, hash);
+            if (row >= 0)
+                stripe.bids(row * WIDTH, own, other);
+        }
+
+        @Override
+        public void round(String auctionId, int own, int other) {
+            int hash = hash(auctionId);
+            Stripe stripe = stripe(hash);
+            int row = stripe.find(auctionId, hash);
+            if (row >= 0) {
+                stripe.bids(row * WIDTH, own, other);
+                stripe.placeBid(row * WIDTH);
+            }
+        }
+
+        @Override
+        public void remove(String auctionId) {
+            int hash = hash(auctionId);
+            Stripe stripe = stripe(hash);
+            if (stripe.find(auctionId, hash) >= 0)
+                stripe.remove(auctionId, hash);
+        }
+    }
+
+    /**
+     * Auctions of one stripe. All methods should be called under the lock.
+     * Rows are addressed by the offset of their first int in the arena.
+     */
+    private final class Stripe {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SpilledBids spilled = new SpilledBids();
+        private String[] ids = new String[INITIAL_CAPACITY];
+        private int[] arena = new int[INITIAL_CAPACITY * WIDTH];
+        private int count;
+        private int serial;
+
+        /**
+         * @return index of the auction in the table, -1 if there is no such auction
+         */
+        private int find(String auctionId, int hash) {
+            int mask = ids.length - 1;
+            for (int index = hash & mask; ids[index] != null; index = (index + 1) & mask)
+                if (ids[index].equals(auctionId))
+                    return index;
+            return -1;
+        }
+
+        /**
+         * @return offset of the row of the auction
+         * @throws AuctionNotFoundException if there is no such auction
+         */
+        private int row(String auctionId, int hash) {
+            int index = find(auctionId, hash);
+            if (index < 0)
+                throw new AuctionNotFoundException(auctionId);
+            return index * WIDTH;
+        }
+
+        private void init(String auctionId, int hash, int quantity, int cash) {
+            int index = find(auctionId, hash);
+            if (index < 0) {
+                if ((count + 1) * 4 > ids.length * 3)
+                    grow();
+                int mask = ids.length - 1;
+                index = hash & mask;
+                while (ids[index] != null)
+                    index = (index + 1) & mask;
+                ids[index] = auctionId;
+                count++;
+                size.incrementAndGet();
+            } else {
+                dropSpilled(index * WIDTH);
+            }
+            initRow(index * WIDTH, quantity, cash);
+        }
+
+        /**
+         * Removes the auction and shifts back the next auctions of its probe sequence, so the table needs no
+         * tombstones.
+         */
+        private void remove(String auctionId, int hash) {
+            int index = find(auctionId, hash);
+            if (index < 0)
+                throw new AuctionNotFoundException(auctionId);
+            dropSpilled(index * WIDTH);
+            int mask = ids.length - 1;
+            int next = index;
+            while (true) {
+                next = (next + 1) & mask;
+                if (ids[next] == null)
+                    break;
+                int home = hash(ids[next]) & mask;
+                if (((next - home) & mask) >= ((next - index) & mask)) {
+                    ids[index] = ids[next];
+                    System.arraycopy(arena, next * WIDTH, arena, index * WIDTH, WIDTH);
+                    index = next;
+                }
+            }
+            ids[index] = null;
+            count--;
+            size.decrementAndGet();
+        }
+
+        private void grow() {
+            String[] oldIds = ids;
+            int[] oldArena = arena;
+            ids = new String[oldIds.length * 2];
+            arena = new int[ids.length * WIDTH];
+            int mask = ids.length - 1;
+            for (int old = 0; old < oldIds.length; old++) {
+                if (oldIds[old] == null)
+                    continue;
+                int index = hash(oldIds[old]) & mask;
+                while (ids[index] != null)
+                    index = (index + 1) & mask;
+                ids[index] = oldIds[old];
+                System.arraycopy(oldArena, old * WIDTH, arena, index * WIDTH, WIDTH);
+            }
+        }
+
+        /**
+         * The same initialization as {@link BidderImpl#init(int, int)} and {@link BidPlan#init(int, int, int)}.
+         */
+        private void initRow(int row, int quantity, int cash) {
+            int[] a = arena;
+            int rounds = rounds(quantity);
+            a[row + QUANTITY] = quantity;
+            a[row + CASH] = cash;
+            a[row + OWN_CASH_LEFT] = cash;
+            a[row + OTHER_CASH_LEFT] = cash;
+            a[row + AMOUNT_WON] = 0;
+            a[row + ROUND] = 0;
+            a[row + PREV_OTHER_BID] = 0;
+            int average = rounds < 2 ? rounds * cash
+                    : cash % rounds >= rounds / 2 ? cash / rounds + 1 : cash / rounds;
+            a[row + AVERAGE] = average;
+            a[row + CHANGE_UNIT] = Math.max(average / 2, 1);
+            a[row + BASE] = 0;
+            a[row + HEAD_ROUNDS] = 0;
+            a[row + WAVE_PASSES] = 0;
+            a[row + LAST_PASS_UNITS] = 0;
+            if (rounds > 0 && quantity != 3) {
+                int remainder = cash % rounds;
+                a[row + BASE] = cash / rounds;
+                if (remainder >= rounds / 2) {
+                    a[row + HEAD_ROUNDS] = remainder;
+                } else {
+                    int wavePasses = BidPlan.calculateWavePasses(remainder);
+                    a[row + WAVE_PASSES] = wavePasses;
+                    a[row + LAST_PASS_UNITS] = (int) (remainder - BidPlan.calculateWaveUnits(wavePasses));
+                }
+            }
+            a[row + CURSOR] = rounds - 1;
+            a[row + ROUND_BID] = rounds > 0 ? planned(row, 0) : 0;
+            a[row + CURSOR_BID] = rounds > 0 ? planned(row, rounds - 1) : 0;
+            a[row + SERIAL] = ++serial;
+            a[row + SPILLED] = 0;
+        }
+
+        /**
+         * The same as {@link BidderImpl#placeBid()}.
+         */
+        private int placeBid(int row) {
+            int[] a = arena;
+            int quantity = a[row + QUANTITY];
+            int ownCashLeft = a[row + OWN_CASH_LEFT];
+            int amountWon = a[row + AMOUNT_WON];
+            if (quantity == 0
+                    || ownCashLeft <= 0
+                    || a[row + ROUND] >= rounds(quantity)
+                    || amountWon > (quantity - amountWon)) {
+                stats.recordDecision(BidDecision.ZERO);
+                return 0;
+            }
+            if (a[row + OTHER_CASH_LEFT] == 0) {
+                stats.recordDecision(BidDecision.ONE_UNIT);
+                return 1;
+            }
+            return Math.min(ownPossibleBid(row), ownCashLeft);
+        }
+
+        /**
+         * The same as BidderImpl.getOwnPossibleBid(), where the bids of the plan are kept for the current round and
+         * the cursor round only. When the cursor gets to the current round both of them are the same round, and the
+         * bid of the current round is the actual one.
+         */
+        private int ownPossibleBid(int row) {
+            int[] a = arena;
+            BidDecision decision = BidDecision.PLANNED;
+            int round = a[row + ROUND];
+            int prevOtherBid = a[row + PREV_OTHER_BID];
+            int average = a[row + AVERAGE];
+            int unit = a[row + CHANGE_UNIT];
+            int otherCashLeft = a[row + OTHER_CASH_LEFT];
+            if (prevOtherBid > average
+                    && !(round < rounds(a[row + QUANTITY]) / 2 && otherCashLeft < a[row + CASH] / 2)) {
+                while (a[row + CURSOR] > round && a[row + CURSOR_BID] <= unit)
+                    moveCursor(row);
+                if (a[row + CURSOR] > round && a[row + CURSOR_BID] >= unit + 1) {
+                    a[row + CURSOR_BID] -= unit;
+                    a[row + ROUND_BID] += unit;
+                    decision = BidDecision.MOVED_TO_CURRENT;
+                }
+            }
+            if (prevOtherBid < average && otherCashLeft > a[row + OWN_CASH_LEFT] && a[row + ROUND_BID] >= unit + 1) {
+                if (a[row + CURSOR] != round) {
+                    a[row + ROUND_BID] -= unit;
+                    a[row + CURSOR_BID] += unit;
+                }
+                decision = BidDecision.SHRUNK_CURRENT;
+            }
+            stats.recordDecision(decision);
+            return a[row + ROUND_BID];
+        }
+
+        /**
+         * Moves the cursor one round to the left. The bid of the left round is spilled if it can not be computed back.
+         */
+        private void moveCursor(int row) {
+            int[] a = arena;
+            int cursor = a[row + CURSOR];
+            int bid = a[row + CURSOR_BID];
+            if (bid != leftBid(row, cursor)) {
+                spilled.put(a[row + SERIAL], cursor, bid);
+                a[row + SPILLED]++;
+            }
+            cursor--;
+            a[row + CURSOR] = cursor;
+            a[row + CURSOR_BID] = cursor == a[row + ROUND] ? a[row + ROUND_BID] : planned(row, cursor);
+        }
+
+        /**
+         * The same as {@link BidderImpl#bids(int, int)}, and the bid of the next round is taken as the current one.
+         */
+        private void bids(int row, int own, int other) {
+            int[] a = arena;
+            a[row + OWN_CASH_LEFT] -= own;
+            a[row + OTHER_CASH_LEFT] -= other;
+            a[row + AMOUNT_WON] += Integer.compare(own, other) + 1;
+            a[row + PREV_OTHER_BID] = other;
+            int round = ++a[row + ROUND];
+            int cursor = a[row + CURSOR];
+            if (round >= rounds(a[row + QUANTITY]))
+                a[row + ROUND_BID] = 0;
+            else if (round == cursor)
+                a[row + ROUND_BID] = a[row + CURSOR_BID];
+            else if (round < cursor)
+                a[row + ROUND_BID] = planned(row, round);
+            else if (a[row + SPILLED] > 0)
+                a[row + ROUND_BID] = spilled.get(a[row + SERIAL], round, leftBid(row, round));
+            else
+                a[row + ROUND_BID] = leftBid(row, round);
+            stats.recordRound();
+        }
+
+        /**
+         * @return the initial bid of the round
+         */
+        private int planned(int row, int round) {
+            int[] a = arena;
+            if (a[row + QUANTITY] == 3)
+                return round == 0 ? a[row + CASH] : 0;
+            return BidPlan.planned(round, rounds(a[row + QUANTITY]), a[row + BASE], a[row + HEAD_ROUNDS],
+                    a[row + WAVE_PASSES], a[row + LAST_PASS_UNITS]);
+        }
+
+        /**
+         * The cursor leaves a round when its bid is at most the unit, and the bid is changed by whole units, every
+         * decrease keeping it positive.
+         * @return bid of the round left by the cursor
+         */
+        private int leftBid(int row, int round) {
+            int planned = planned(row, round);
+            return planned == 0 ? 0 : (planned - 1) % arena[row + CHANGE_UNIT] + 1;
+        }
+
+        private void dropSpilled(int row) {
+            if (arena[row + SPILLED] > 0)
+                spilled.remove(arena[row + SERIAL], arena[row + SPILLED]);
+        }
+    }
+}
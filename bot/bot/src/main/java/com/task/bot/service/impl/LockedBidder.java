@@ -0,0 +1,79 @@
+package com.task.bot.service.impl;
+
+import com.task.bot.service.Bidder;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bidder shared between request threads. Every call is serialized by a {@link ReentrantLock} rather than a monitor,
+ * so a virtual thread waiting for the lock releases its carrier thread.
+ */
+public class LockedBidder implements Bidder {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Bidder bidder;
+
+    public LockedBidder(Bidder bidder) {
+        this.bidder = bidder;
+    }
+
+    @Override
+    public void init(int quantity, int cash) {
+        lock.lock();
+        try {
+            bidder.init(quantity, cash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void init(int quantity, int cash, String opponentId) {
+        lock.lock();
+        try {
+            bidder.init(quantity, cash, opponentId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int placeBid() {
+        lock.lock();
+        try {
+            return bidder.placeBid();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void replayBid() {
+        lock.lock();
+        try {
+            bidder.replayBid();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void bids(int own, int other) {
+        lock.lock();
+        try {
+            bidder.bids(own, other);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int round(int own, int other) {
+        lock.lock();
+        try {
+            return bidder.round(own, other);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
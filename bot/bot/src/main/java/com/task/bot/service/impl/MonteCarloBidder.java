@@ -0,0 +1,332 @@
+package com.task.bot.service.impl;
+
+import com.task.bot.service.Bidder;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Bidder which looks ahead by Monte Carlo rollouts of the rest of the auction within a time budget per bid.
+ * The candidate bids of the round are 0, the bid of the fallback bidder, an even share of the cash left, one unit
+ * over the previous bid of the other bidder and one unit over the bid expected from it by every {@link OpponentModel}.
+ * Every rollout samples an opponent: one of the models, repeating its previous bid, repeating the previous bid of this
+ * bidder or random bids up to twice an even share of its cash left, scaled by a random factor from 1/2 to 3/2. Each
+ * candidate is played against it, followed by even shares of the cash left in the next rounds.
+ * The candidate with the most points, 2 for a win and 1 for a tie, is placed, if it beats the bid of the fallback.
+ * Rollouts are split between the calling thread and tasks on the shared work-stealing pool, which are allocated
+ * once per bidder and re-initialized for every bid, and they work on primitive state only, so a rollout does not
+ * allocate. When the budget expires before {@link #MIN_ROLLOUTS} rollouts, the bid of the fallback is placed, so the
+ * latency of a bid is bounded by the budget and a single rollout.
+ * The fallback bidder is shown all the bids and asked for a bid in every round, so it keeps its own plan up to date.
+ */
+public class MonteCarloBidder implements Bidder {
+
+    /**
+     * Number of rollouts of every candidate needed to place a bid other than the one of the fallback.
+     */
+    static final int MIN_ROLLOUTS = 8;
+
+    private static final int CANDIDATES = 7;
+    private static final OpponentModel[] MODELS = OpponentModel.values();
+    private static final int REPEAT = MODELS.length;
+    private static final int MIRROR = MODELS.length + 1;
+    private static final int RANDOM = MODELS.length + 2;
+
+    private final ForkJoinPool pool;
+    private final long budgetNanos;
+    private final int rollouts;
+    private final Bidder fallback;
+    private final Rollouts[] tasks;
+    private final boolean[] forked;
+    private final int[] candidates = new int[CANDIDATES];
+    private final long[] points = new long[CANDIDATES];
+    private int totalQuantity;
+    private int rounds;
+    private int round;
+    private int ownCashLeft;
+    private int otherCashLeft;
+    private int difference;
+    private int prevOtherBid;
+    private int prevOwnBid;
+    private int decidedRound;
+    private int decidedBid;
+    private int fallbackRound;
+    private int fallbackBid;
+
+    /**
+     * @param pool work-stealing pool of the rollouts, usually shared with other bidders
+     * @param budgetNanos time budget of placing a bid, 0 to always place the bid of the fallback
+     * @param rollouts maximum number of rollouts of every candidate per bid
+     * @param fallback bidder which places the bid when the rollouts do not finish in time
+     */
+    public MonteCarloBidder(ForkJoinPool pool, long budgetNanos, int rollouts, Bidder fallback) {
+        this(pool, budgetNanos, rollouts, fallback, ThreadLocalRandom.current().nextLong());
+    }
+
+    MonteCarloBidder(ForkJoinPool pool, long budgetNanos, int rollouts, Bidder fallback, long seed) {
+        if (budgetNanos < 0 || rollouts < 1)
+            throw new IllegalArgumentException("Budget can not be negative and rollouts can not be less than 1");
+        this.pool = pool;
+        this.budgetNanos = budgetNanos;
+        this.rollouts = rollouts;
+        this.fallback = fallback;
+        SplittableRandom random = new SplittableRandom(seed);
+        tasks = new Rollouts[Math.max(pool.getParallelism(), 1)];
+        for (int i = 0; i < tasks.length; i++)
+            tasks[i] = new Rollouts(random.split());
+        forked = new boolean[tasks.length];
+    }
+
+    @Override
+    public void init(int quantity, int cash) {
+        init(quantity, cash, null);
+    }
+
+    /**
+     * The opponent is passed to the fallback bidder only, rollouts sample the opponents from the models.
+     */
+    @Override
+    public void init(int quantity, int cash, String opponentId) {
+        fallback.init(quantity, cash, opponentId);
+        totalQuantity = quantity;
+        rounds = (quantity + 1) / 2;
+        round = 0;
+        ownCashLeft = cash;
+        otherCashLeft = cash;
+        difference = 0;
+        prevOtherBid = 0;
+        prevOwnBid = 0;
+        decidedRound = -1;
+        fallbackRound = -1;
+    }
+
+    /**
+     * Repeated calls in the same round place the same bid without new rollouts.
+     */
+    @Override
+    public int placeBid() {
+        if (decidedRound != round) {
+            decidedBid = decide(fallbackBid());
+            decidedRound = round;
+        }
+        return decidedBid;
+    }
+
+    /**
+     * Replays the bid of the fallback bidder only, as with no budget, so the recovery of an auction does not run
+     * rollouts for every journaled round. The bid of the round is decided by the next {@link #placeBid()}.
+     */
+    @Override
+    public void replayBid() {
+        fallbackBid();
+    }
+
+    @Override
+    public void bids(int own, int other) {
+        fallback.bids(own, other);
+        if (round < rounds)
+            difference += Integer.signum(own - other) * Math.min(2, totalQuantity - 2 * round);
+        ownCashLeft -= own;
+        otherCashLeft -= other;
+        prevOtherBid = other;
+        prevOwnBid = own;
+        round++;
+    }
+
+    /**
+     * The fallback bidder is asked once per round, as repeated bids of a round are journaled and replayed as well.
+     * @return bid of the fallback bidder in the round
+     */
+    private int fallbackBid() {
+        if (fallbackRound != round) {
+            fallbackBid = fallback.placeBid();
+            fallbackRound = round;
+        }
+        return fallbackBid;
+    }
+
+    /**
+     * @param fallbackBid bid of the fallback bidder
+     * @return the best candidate by the rollouts finished in time, the bid of the fallback if they are not enough
+     */
+    private int decide(int fallbackBid) {
+        if (budgetNanos == 0 || round >= rounds || ownCashLeft <= 0)
+            return fallbackBid;
+        int count = collectCandidates(fallbackBid);
+        if (count < 2)
+            return fallbackBid;
+        long deadline = System.nanoTime() + budgetNanos;
+        int quota = (rollouts + tasks.length - 1) / tasks.length;
+        for (int i = 1; i < tasks.length; i++) {
+            forked[i] = tasks[i].isDone() || !tasks[i].used;
+            if (forked[i]) {
+                tasks[i].reinitialize();
+                tasks[i].prepare(this, count, quota, deadline);
+                pool.execute(tasks[i]);
+            }
+        }
+        tasks[0].prepare(this, count, quota, deadline);
+        tasks[0].play();
+        for (int i = 1; i < tasks.length; i++) {
+            long remaining = deadline - System.nanoTime();
+            if (!forked[i] || tasks[i].isDone() || remaining <= 0)
+                continue;
+            try {
+                tasks[i].get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // the task is left out, it stops by itself at the deadline
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        long plays = tasks[0].plays;
+        System.arraycopy(tasks[0].points, 0, points, 0, count);
+        for (int i = 1; i < tasks.length; i++) {
+            if (!forked[i] || !tasks[i].isDone() || tasks[i].isCompletedAbnormally())
+                continue;
+            plays += tasks[i].plays;
+            for (int c = 0; c < count; c++)
+                points[c] += tasks[i].points[c];
+        }
+        if (plays < MIN_ROLLOUTS)
+            return fallbackBid;
+        int best = 1;
+        for (int c = 0; c < count; c++)
+            if (points[c] > points[best])
+                best = c;
+        return candidates[best];
+    }
+
+    /**
+     * Fills the distinct candidates of the round, the bid of the fallback is the second one.
+     * @return number of candidates
+     */
+    private int collectCandidates(int fallbackBid) {
+        int roundsLeft = rounds - round;
+        candidates[0] = 0;
+        candidates[1] = Math.min(fallbackBid, ownCashLeft);
+        int count = 2;
+        count = addCandidate(count, ownCashLeft / roundsLeft);
+        count = addCandidate(count, prevOtherBid + 1);
+        for (OpponentModel model : MODELS)
+            count = addCandidate(count, Math.min(model.bid(rounds, roundsLeft, otherCashLeft), otherCashLeft) + 1);
+        return count;
+    }
+
+    private int addCandidate(int count, int bid) {
+        int candidate = Math.max(0, Math.min(bid, ownCashLeft));
+        for (int c = 0; c < count; c++)
+            if (candidates[c] == candidate)
+                return count;
+        candidates[count] = candidate;
+        return count + 1;
+    }
+
+    /**
+     * Rollouts of a share of a bid, on the calling thread or on the pool. The state of the auction is copied,
+     * so a task which misses the deadline does not see the next rounds.
+     */
+    private static final class Rollouts extends RecursiveAction {
+
+        private final SplittableRandom random;
+        private final int[] candidates = new int[CANDIDATES];
+        private final long[] points = new long[CANDIDATES];
+        private boolean used;
+        private int count;
+        private int quota;
+        private long deadline;
+        private int plays;
+        private int totalQuantity;
+        private int rounds;
+        private int round;
+        private int ownCashLeft;
+        private int otherCashLeft;
+        private int difference;
+        private int prevOtherBid;
+        private int prevOwnBid;
+
+        private Rollouts(SplittableRandom random) {
+            this.random = random;
+        }
+
+        private void prepare(MonteCarloBidder bidder, int count, int quota, long deadline) {
+            used = true;
+            System.arraycopy(bidder.candidates, 0, candidates, 0, count);
+            this.count = count;
+            this.quota = quota;
+            this.deadline = deadline;
+            totalQuantity = bidder.totalQuantity;
+            rounds = bidder.rounds;
+            round = bidder.round;
+            ownCashLeft = bidder.ownCashLeft;
+            otherCashLeft = bidder.otherCashLeft;
+            difference = bidder.difference;
+            prevOtherBid = bidder.prevOtherBid;
+            prevOwnBid = bidder.prevOwnBid;
+        }
+
+        @Override
+        protected void compute() {
+            play();
+        }
+
+        private void play() {
+            plays = 0;
+            for (int c = 0; c < count; c++)
+                points[c] = 0;
+            while (plays < quota && System.nanoTime() < deadline) {
+                int model = random.nextInt(RANDOM + 1);
+                int scale = random.nextBoolean() ? 100 : 50 + random.nextInt(101);
+                for (int c = 0; c < count; c++)
+                    points[c] += rollout(candidates[c], model, scale);
+                plays++;
+            }
+        }
+
+        /**
+         * Plays the rest of the auction: the candidate in the current round, even shares of the cash left then.
+         * @param model index of the opponent model or {@link #REPEAT}, {@link #MIRROR}, {@link #RANDOM}
+         * @param scale factor of the bids of the opponent, in percent
+         * @return 2 for a win, 1 for a tie, 0 for a loss
+         */
+        private int rollout(int candidate, int model, int scale) {
+            int own = ownCashLeft;
+            int other = otherCashLeft;
+            int diff = difference;
+            int otherBid = prevOtherBid;
+            int prevOwn = prevOwnBid;
+            int ownBid = candidate;
+            for (int r = round; r < rounds; r++) {
+                int roundsLeft = rounds - r;
+                int unitsLeft = totalQuantity - 2 * r;
+                if (diff > unitsLeft || -diff > unitsLeft)
+                    break;
+                int expected;
+                if (model < REPEAT || r == 0 && model < RANDOM)
+                    expected = MODELS[model < REPEAT ? model : 0].bid(rounds, roundsLeft, other);
+                else if (model == REPEAT)
+                    expected = otherBid;
+                else if (model == MIRROR)
+                    expected = prevOwn;
+                else
+                    expected = random.nextInt((int) Math.min(2L * other / roundsLeft + 1, Integer.MAX_VALUE));
+                otherBid = Math.max(0, Math.min((int) ((long) expected * scale / 100), other));
+                if (r > round)
+                    ownBid = own / roundsLeft;
+                diff += Integer.signum(ownBid - otherBid) * Math.min(2, unitsLeft);
+                own -= ownBid;
+                other -= otherBid;
+                prevOwn = ownBid;
+            }
+            if (diff != 0)
+                return diff > 0 ? 2 : 0;
+            return Integer.compare(own, other) + 1;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.task.bot.service.impl;
+
+/**
+ * Deterministic model of the other bidder for {@link DpBidder}. The bid depends only on the state of the other
+ * bidder itself, so its cash left before every round is known in advance for the given quantity and cash.
+ */
+public enum OpponentModel {
+
+    /**
+     * Spends the cash left evenly over the rounds left.
+     */
+    EVEN {
+        @Override
+        public int bid(int rounds, int roundsLeft, int cashLeft) {
+            return cashLeft / roundsLeft;
+        }
+    },
+    /**
+     * Spends the cash with linearly decreasing weights, so the first rounds get the biggest bids.
+     */
+    FRONT_LOADED {
+        @Override
+        public int bid(int rounds, int roundsLeft, int cashLeft) {
+            return (int) (2L * cashLeft / (roundsLeft + 1));
+        }
+    },
+    /**
+     * Spends the cash with linearly increasing weights, so the last rounds get the biggest bids.
+     */
+    BACK_LOADED {
+        @Override
+        public int bid(int rounds, int roundsLeft, int cashLeft) {
+            long weight = rounds - roundsLeft + 1;
+            long weightsLeft = (weight + rounds) * roundsLeft / 2;
+            return (int) (cashLeft * weight / weightsLeft);
+        }
+    };
+
+    /**
+     * @param rounds number of rounds of the auction
+     * @param roundsLeft number of rounds left including the current one, at least 1
+     * @param cashLeft cash left of the other bidder
+     * @return expected bid of the other bidder, it is limited by the cash left by the caller
+     */
+    public abstract int bid(int rounds, int roundsLeft, int cashLeft);
+}
@@ -0,0 +1,164 @@
+package com.task.bot.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Store of opponent profiles learned across auctions and shared by bidders of concurrent auctions.
+ * A profile is the shape of the bids of the opponent: the share of its total cash spent in each of {@link #PHASES}
+ * equal phases of an auction, in 1/65536 units, as an exponential moving average over its finished auctions.
+ * Profiles are kept in a fixed table of primitive arrays, an opponent is identified by a 64-bit fingerprint of its id
+ * and placed in one of {@link #PROBES} slots starting from its hash. If all of them are taken, the least recently
+ * seen opponent of them is evicted. The profile of an opponent not seen for longer than the ttl is stale: it is
+ * forgotten when the opponent comes back, since it may have changed its bids since then.
+ * Bidders resolve the slot once per auction, then reading a phase is a single array read, and updates are
+ * compare-and-set loops, so there are neither locks nor allocations.
+ * A bidder keeps the fingerprint along with the slot, so it ignores the slot once it is taken by another opponent.
+ */
+public class OpponentProfiles {
+
+    /**
+     * Profiles which keep nothing, for bidders without learning.
+     */
+    public static final OpponentProfiles NONE = new OpponentProfiles(1, Duration.ZERO);
+
+    public static final int PHASES = 8;
+    static final int ONE = 1 << 16;
+    private static final int PROBES = 8;
+    private static final int SMOOTHING = 3;
+
+    private final int mask;
+    private final long ttlNanos;
+    private final AtomicLongArray keys;
+    private final AtomicLongArray lastSeen;
+    private final AtomicIntegerArray auctions;
+    private final AtomicIntegerArray shape;
+
+    /**
+     * @param capacity maximum number of opponents, rounded up to a power of two
+     * @param ttl time after the last auction of an opponent when its profile becomes stale
+     */
+    public OpponentProfiles(int capacity, Duration ttl) {
+        int size = Integer.highestOneBit(Math.max(capacity, PROBES) - 1) << 1;
+        mask = size - 1;
+        ttlNanos = ttl.toNanos();
+        keys = new AtomicLongArray(size);
+        lastSeen = new AtomicLongArray(size);
+        auctions = new AtomicIntegerArray(size);
+        shape = new AtomicIntegerArray(size * PHASES);
+    }
+
+    /**
+     * @param opponentId the opponent id
+     * @return non-zero fingerprint of the id
+     */
+    static long fingerprint(String opponentId) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < opponentId.length(); i++)
+            hash = (hash ^ opponentId.charAt(i)) * 0x100000001B3L;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Finds the slot of the opponent or takes one for it.
+     * @param key fingerprint of the opponent id
+     * @return slot of the opponent, -1 for {@link #NONE}
+     */
+    int acquire(long key) {
+        if (this == NONE)
+            return -1;
+        long now = System.nanoTime();
+        int start = (int) (key ^ key >>> 32) & mask;
+        while (true) {
+            int victim = -1;
+            long victimSeen = Long.MAX_VALUE;
+            for (int probe = 0; probe < PROBES; probe++) {
+                int slot = (start + probe) & mask;
+                long current = keys.get(slot);
+                if (current == key) {
+                    if (now - lastSeen.get(slot) > ttlNanos)
+                        reset(slot);
+                    lastSeen.set(slot, now);
+                    return slot;
+                }
+                long seen = current == 0 ? Long.MIN_VALUE : lastSeen.get(slot);
+                if (seen < victimSeen) {
+                    victim = slot;
+                    victimSeen = seen;
+                }
+            }
+            long current = keys.get(victim);
+            if (keys.compareAndSet(victim, current, key)) {
+                reset(victim);
+                lastSeen.set(victim, now);
+                return victim;
+            }
+        }
+    }
+
+    private void reset(int slot) {
+        auctions.set(slot, 0);
+        for (int phase = 0; phase < PHASES; phase++)
+            shape.set(slot * PHASES + phase, 0);
+    }
+
+    /**
+     * @param slot slot of the opponent
+     * @param key fingerprint of the opponent id
+     * @return number of finished auctions in the profile, 0 if the slot is taken by another opponent
+     */
+    int auctions(int slot, long key) {
+        if (slot < 0 || keys.get(slot) != key)
+            return 0;
+        return auctions.get(slot);
+    }
+
+    /**
+     * @param slot slot of the opponent
+     * @param phase phase of the auction
+     * @return share of the total cash spent by the opponent in the phase, in 1/65536 units
+     */
+    int shape(int slot, int phase) {
+        return shape.get(slot * PHASES + phase);
+    }
+
+    /**
+     * Learns a finished auction of the opponent. The first auction sets the shape, every next one moves it by 1/8
+     * of the difference.
+     * @param slot slot of the opponent
+     * @param key fingerprint of the opponent id
+     * @param spent cash spent by the opponent per phase
+     * @param cash the cash limit of the auction
+     */
+    void learn(int slot, long key, int[] spent, int cash) {
+        if (slot < 0 || cash <= 0 || keys.get(slot) != key)
+            return;
+        boolean first = auctions.getAndIncrement(slot) == 0;
+        for (int phase = 0; phase < PHASES; phase++) {
+            int share = (int) ((long) spent[phase] * ONE / cash);
+            int index = slot * PHASES + phase;
+            int old;
+            int updated;
+            do {
+                old = shape.get(index);
+                updated = first ? share : old + ((share - old) >> SMOOTHING);
+            } while (!shape.compareAndSet(index, old, updated));
+        }
+        lastSeen.set(slot, System.nanoTime());
+    }
+
+    /**
+     * @return number of opponents in the store, including the stale ones
+     */
+    public int size() {
+        int size = 0;
+        for (int slot = 0; slot <= mask; slot++)
+            if (keys.get(slot) != 0)
+                size++;
+        return size;
+    }
+}
@@ -0,0 +1,135 @@
+package com.task.bot.service.impl;
+
+/**
+ * Bids of the rounds left by the cursor of a {@link FlatAuctionSessions} row which can not be computed back, keyed by
+ * the serial of the row and the round in an open addressing table of primitive longs with linear probing, so a bid
+ * costs a slot of two arrays rather than a boxed entry of a map. Removed bids shift back the next bids of their probe
+ * sequence, so the table needs no tombstones.
+ * It is not thread-safe, the stripe which holds it guards it by its lock.
+ */
+final class SpilledBids {
+
+    private static final long EMPTY = 0;
+
+    private long[] keys = new long[0];
+    private int[] bids = new int[0];
+    private int count;
+
+    /**
+     * @param serial serial of the row
+     * @param round round of bids, from 0
+     * @param missing the bid returned if the round is not spilled
+     * @return spilled bid of the round
+     */
+    int get(int serial, int round, int missing) {
+        if (count == 0)
+            return missing;
+        int slot = slot(key(serial, round));
+        return keys[slot] != EMPTY ? bids[slot] : missing;
+    }
+
+    /**
+     * @param serial serial of the row
+     * @param round round of bids, from 0
+     * @param bid bid left in the round
+     */
+    void put(int serial, int round, int bid) {
+        if (count * 2 >= keys.length)
+            grow();
+        long key = key(serial, round);
+        int slot = slot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            count++;
+        }
+        bids[slot] = bid;
+    }
+
+    /**
+     * Removes the bids of the row by a single pass over the table, which ends once they are all found. The pass starts
+     * after an empty slot, so the shifts of {@link #delete(int)} only move bids which the pass has not got to yet.
+     * @param serial serial of the row
+     * @param spilled number of bids spilled by the row
+     */
+    void remove(int serial, int spilled) {
+        if (count == 0)
+            return;
+        int mask = keys.length - 1;
+        int slot = 0;
+        while (keys[slot] != EMPTY)
+            slot++;
+        for (int visited = 0; visited < mask && spilled > 0; ) {
+            int next = (slot + 1) & mask;
+            if (keys[next] != EMPTY && (int) (keys[next] >>> 32) == serial) {
+                delete(next);
+                spilled--;
+            } else {
+                slot = next;
+                visited++;
+            }
+        }
+    }
+
+    /**
+     * @return number of spilled bids of all rows
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * @return key of the round, never {@link #EMPTY}, as the round is stored plus one
+     */
+    private static long key(int serial, int round) {
+        return (long) serial << 32 | round + 1L;
+    }
+
+    private int home(long key) {
+        int hash = Long.hashCode(key) * 0x9E3779B9;
+        return (hash ^ hash >>> 16) & (keys.length - 1);
+    }
+
+    /**
+     * Linear probing of the table.
+     * @param key key of the round
+     * @return slot of the key or the empty slot where it should be put
+     */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = home(key);
+        while (keys[slot] != EMPTY && keys[slot] != key)
+            slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void delete(int slot) {
+        int mask = keys.length - 1;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (keys[next] == EMPTY)
+                break;
+            if (((next - home(keys[next])) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                bids[slot] = bids[next];
+                slot = next;
+            }
+        }
+        keys[slot] = EMPTY;
+        count--;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldBids = bids;
+        keys = new long[Math.max(8, oldKeys.length * 2)];
+        bids = new int[keys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                bids[slot] = oldBids[i];
+            }
+        }
+    }
+}
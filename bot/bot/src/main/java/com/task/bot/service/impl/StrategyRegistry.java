@@ -0,0 +1,68 @@
+package com.task.bot.service.impl;
+
+import com.task.bot.exception.UnknownStrategyException;
+import com.task.bot.service.BidderStrategy;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registry of the strategies by name with the default one, which plays auctions initialized without a strategy.
+ */
+public class StrategyRegistry {
+
+    /**
+     * Name of the strategy of {@link BidderImpl}.
+     */
+    public static final String HEURISTIC = "heuristic";
+
+    private final Map<String, BidderStrategy> strategies = new LinkedHashMap<>();
+    private final BidderStrategy defaultStrategy;
+
+    /**
+     * @param strategies strategies with unique names
+     * @param defaultStrategy name of the default strategy
+     */
+    public StrategyRegistry(List<BidderStrategy> strategies, String defaultStrategy) {
+        for (BidderStrategy strategy : strategies)
+            if (this.strategies.putIfAbsent(strategy.name(), strategy) != null)
+                throw new IllegalStateException("Strategy " + strategy.name() + " is registered twice");
+        this.defaultStrategy = get(defaultStrategy);
+    }
+
+    /**
+     * @param stats counters of rounds and bid decisions shared by the bidders
+     * @return registry of the heuristic strategy only
+     */
+    public static StrategyRegistry heuristic(BidderStats stats) {
+        return new StrategyRegistry(List.of(BidderStrategy.of(HEURISTIC, () -> new BidderImpl(stats))), HEURISTIC);
+    }
+
+    /**
+     * @param name name of the strategy, null for the default one
+     * @return the strategy
+     * @throws UnknownStrategyException if there is no strategy with such name
+     */
+    public BidderStrategy get(String name) {
+        if (name == null)
+            return defaultStrategy;
+        BidderStrategy strategy = strategies.get(name);
+        if (strategy == null)
+            throw new UnknownStrategyException(name);
+        return strategy;
+    }
+
+    public BidderStrategy getDefault() {
+        return defaultStrategy;
+    }
+
+    /**
+     * @return names of the strategies in the order of registration
+     */
+    public Set<String> names() {
+        return Collections.unmodifiableSet(strategies.keySet());
+    }
+}
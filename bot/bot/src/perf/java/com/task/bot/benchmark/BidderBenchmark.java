@@ -0,0 +1,129 @@
+package com.task.bot.benchmark;
+
+import com.task.bot.dto.BidDTO;
+import com.task.bot.service.Bidder;
+import com.task.bot.service.impl.BidderImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths of {@link BidderImpl}: initialization, a single bid, a single round and a full auction
+ * against the opponent profiles of BidderTest.
+ * The bidder is re-initialized for every auction rather than created, so the setup checks that a re-initialized
+ * bidder plays the same bids as a new one, otherwise the rounds would measure the zero bids of a finished auction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BidderBenchmark {
+
+    @Param({"20", "2000", "200000"})
+    private int quantity;
+
+    @Param({"40", "1000000", "2000000000"})
+    private int cash;
+
+    @Param({"AGGRESSIVE", "PASSIVE", "MIDDLE"})
+    private OpponentProfile opponent;
+
+    private final Bidder bidder = new BidderImpl();
+    private int[] otherBids;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUpOpponent() {
+        otherBids = opponent.bids(quantity % 2 == 0 ? quantity / 2 : quantity / 2 + 1, cash);
+        int[] expected = play(new BidderImpl());
+        play(bidder);
+        if (!Arrays.equals(play(bidder), expected))
+            throw new IllegalStateException("Re-initialized bidder does not play the bids of a new one");
+    }
+
+    /**
+     * @return own bids of a full auction against the opponent
+     */
+    private int[] play(Bidder auctionBidder) {
+        int[] bids = new int[otherBids.length];
+        auctionBidder.init(quantity, cash);
+        for (int i = 0; i < otherBids.length; i++) {
+            bids[i] = auctionBidder.placeBid();
+            auctionBidder.bids(bids[i], otherBids[i]);
+        }
+        return bids;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpAuction() {
+        bidder.init(quantity, cash);
+        round = 0;
+    }
+
+    @Benchmark
+    public void init() {
+        bidder.init(quantity, cash);
+    }
+
+    @Benchmark
+    public int placeBid() {
+        return bidder.placeBid();
+    }
+
+    /**
+     * One round of the auction: own bid and publishing of both bids. A new auction starts after the last round.
+     */
+    @Benchmark
+    public int round() {
+        if (round == otherBids.length) {
+            bidder.init(quantity, cash);
+            round = 0;
+        }
+        int own = bidder.placeBid();
+        bidder.bids(own, otherBids[round++]);
+        return own;
+    }
+
+    /**
+     * One round with the response object of /api/placeBid, expected to allocate nothing (gc.alloc.rate.norm ~ 0)
+     * as long as bids fit into the {@link BidDTO} cache.
+     */
+    @Benchmark
+    public BidDTO roundResponse() {
+        if (round == otherBids.length) {
+            bidder.init(quantity, cash);
+            round = 0;
+        }
+        BidDTO own = BidDTO.of(bidder.placeBid());
+        bidder.bids(own.getBid(), otherBids[round++]);
+        return own;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public void fullAuction(Blackhole blackhole) {
+        bidder.init(quantity, cash);
+        for (int otherBid : otherBids) {
+            int own = bidder.placeBid();
+            bidder.bids(own, otherBid);
+            blackhole.consume(own);
+        }
+    }
+}
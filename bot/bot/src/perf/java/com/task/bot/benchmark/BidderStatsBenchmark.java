@@ -0,0 +1,75 @@
+package com.task.bot.benchmark;
+
+import com.task.bot.service.Bidder;
+import com.task.bot.service.impl.BidderImpl;
+import com.task.bot.service.impl.BidderStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the decision and round counters on the hot path: a round of bidders of concurrent auctions without
+ * stats and with stats shared by all of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class BidderStatsBenchmark {
+
+    private static final int QUANTITY = 2000;
+    private static final int CASH = 1_000_000;
+
+    @State(Scope.Benchmark)
+    public static class SharedStats {
+
+        @Param({"false", "true"})
+        private boolean enabled;
+
+        private BidderStats stats;
+
+        @Setup
+        public void setUp() {
+            stats = enabled ? new BidderStats() : BidderStats.NONE;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Auction {
+
+        private Bidder bidder;
+        private int[] otherBids;
+        private int round;
+
+        @Setup
+        public void setUp(SharedStats shared) {
+            bidder = new BidderImpl(shared.stats);
+            otherBids = OpponentProfile.MIDDLE.bids(QUANTITY / 2, CASH);
+            bidder.init(QUANTITY, CASH);
+        }
+    }
+
+    @Benchmark
+    public int round(Auction auction) {
+        if (auction.round == auction.otherBids.length) {
+            auction.bidder.init(QUANTITY, CASH);
+            auction.round = 0;
+        }
+        int own = auction.bidder.placeBid();
+        auction.bidder.bids(own, auction.otherBids[auction.round++]);
+        return own;
+    }
+}
@@ -0,0 +1,90 @@
+package com.task.bot.benchmark;
+
+import com.task.bot.service.Bidder;
+import com.task.bot.service.impl.BidTables;
+import com.task.bot.service.impl.BidderImpl;
+import com.task.bot.service.impl.DpBidder;
+import com.task.bot.service.impl.OpponentModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costs of {@link DpBidder}: solving a table on the first initialization with new parameters, initialization with
+ * a cached table and a round of the auction, which is a table lookup.
+ */
+@Fork(1)
+@State(Scope.Thread)
+public class DpBidderBenchmark {
+
+    @Param({"20", "100"})
+    private int quantity;
+
+    @Param({"1000", "5000"})
+    private int cash;
+
+    private BidTables tables;
+    private Bidder bidder;
+    private int[] otherBids;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUpTables() {
+        tables = new BidTables(OpponentModel.EVEN, 1L << 28, 1L << 28, null);
+        bidder = new DpBidder(tables, new BidderImpl());
+        otherBids = OpponentProfile.MIDDLE.bids(quantity / 2, cash);
+        bidder.init(quantity, cash);
+    }
+
+    /**
+     * Initialization with parameters never seen by the cache, the table is solved in parallel by rows of cash.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public void solve() {
+        new DpBidder(new BidTables(OpponentModel.EVEN, 1L << 28, 1L << 28, null), new BidderImpl())
+                .init(quantity, cash);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public void cachedInit() {
+        bidder.init(quantity, cash);
+        round = 0;
+    }
+
+    /**
+     * One round of the auction: own bid and publishing of both bids. A new auction starts after the last round.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public int round() {
+        if (round == otherBids.length) {
+            bidder.init(quantity, cash);
+            round = 0;
+        }
+        int own = bidder.placeBid();
+        bidder.bids(own, otherBids[round++]);
+        return own;
+    }
+}
@@ -0,0 +1,163 @@
+package com.task.bot.benchmark;
+
+import com.task.bot.journal.AuctionJournal;
+import com.task.bot.journal.MappedAuctionJournal;
+import com.task.bot.service.AuctionSessions;
+import com.task.bot.service.impl.AuctionSessionsImpl;
+import com.task.bot.service.impl.BidderStats;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cost of journaling: appending a round to {@link MappedAuctionJournal}, a round of an auction session with and
+ * without the journal, and recovery of all auctions from a journal of millions of rounds.
+ * Journals are written to temporary directories, which are deleted after every iteration.
+ */
+@Fork(1)
+public class JournalBenchmark {
+
+    private static final int SEGMENT_SIZE = 64 << 20;
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(10);
+    private static final int AUCTIONS = 1000;
+    private static final int CASH = 1_000_000;
+
+    @State(Scope.Thread)
+    public static class Writing {
+
+        @Param({"none", "mapped"})
+        private String journal;
+
+        private Path dir;
+        private AuctionJournal auctionJournal;
+        private AuctionSessions sessions;
+        private int[] otherBids;
+        private int own;
+        private int round;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws IOException {
+            dir = Files.createTempDirectory("journal-benchmark");
+            auctionJournal = journal.equals("mapped")
+                    ? new MappedAuctionJournal(dir, SEGMENT_SIZE, FLUSH_INTERVAL)
+                    : AuctionJournal.NONE;
+            sessions = new AuctionSessionsImpl(new BidderStats(), auctionJournal);
+            otherBids = OpponentProfile.MIDDLE.bids(1000, CASH);
+            sessions.init("auction", 2000, CASH);
+            own = sessions.placeBid("auction");
+            round = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException {
+            auctionJournal.close();
+            delete(dir);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Recovery {
+
+        @Param({"1000000", "10000000"})
+        private int rounds;
+
+        private Path dir;
+
+        /**
+         * Journal of {@link #AUCTIONS} auctions played round by round in turn, so their events are interleaved
+         * the same way as events of concurrent auctions.
+         */
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            dir = Files.createTempDirectory("journal-benchmark");
+            int roundsPerAuction = rounds / AUCTIONS;
+            int[] otherBids = OpponentProfile.MIDDLE.bids(roundsPerAuction, CASH);
+            try (AuctionJournal journal = new MappedAuctionJournal(dir, SEGMENT_SIZE, FLUSH_INTERVAL)) {
+                AuctionSessions sessions = new AuctionSessionsImpl(BidderStats.NONE, journal);
+                int[] own = new int[AUCTIONS];
+                for (int auction = 0; auction < AUCTIONS; auction++) {
+                    sessions.init(auctionId(auction), 2 * roundsPerAuction, CASH);
+                    own[auction] = sessions.placeBid(auctionId(auction));
+                }
+                for (int round = 0; round < roundsPerAuction; round++)
+                    for (int auction = 0; auction < AUCTIONS; auction++)
+                        own[auction] = sessions.round(auctionId(auction), own[auction], otherBids[round]);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(dir);
+        }
+
+        private static String auctionId(int auction) {
+            return "auction-" + auction;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public void append(Writing writing) {
+        writing.auctionJournal.round("auction", writing.round, writing.round++);
+    }
+
+    /**
+     * One round of the session: bids of the settled round and the next bid. A new auction starts after the last round.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public int sessionRound(Writing writing) {
+        if (writing.round == writing.otherBids.length) {
+            writing.sessions.init("auction", 2000, CASH);
+            writing.own = writing.sessions.placeBid("auction");
+            writing.round = 0;
+        }
+        writing.own = writing.sessions.round("auction", writing.own, writing.otherBids[writing.round++]);
+        return writing.own;
+    }
+
+    /**
+     * Startup recovery: replaying the whole journal into new sessions.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int recovery(Recovery recovery) {
+        try (AuctionJournal journal = new MappedAuctionJournal(recovery.dir, SEGMENT_SIZE, FLUSH_INTERVAL)) {
+            return new AuctionSessionsImpl(BidderStats.NONE, journal).size();
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList())
+                Files.delete(path);
+        }
+    }
+}
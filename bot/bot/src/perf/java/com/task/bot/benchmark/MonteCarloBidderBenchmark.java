@@ -0,0 +1,79 @@
+package com.task.bot.benchmark;
+
+import com.task.bot.service.Bidder;
+import com.task.bot.service.impl.BidderImpl;
+import com.task.bot.service.impl.MonteCarloBidder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of a round of {@link MonteCarloBidder}: the rollouts of the bid within the budget, on the
+ * calling thread only and on a pool of a thread per processor, against the bids of a middle-loaded opponent.
+ * The percentiles show how far a bid goes over the budget, which is bounded by a single rollout.
+ */
+@Fork(1)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MonteCarloBidderBenchmark {
+
+    private static final int QUANTITY = 200;
+    private static final int CASH = 10_000;
+
+    @Param({"500000", "2000000"})
+    private long budgetNanos;
+
+    @Param({"256", "4096"})
+    private int rollouts;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private Bidder bidder;
+    private int[] otherBids;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        bidder = new MonteCarloBidder(pool, budgetNanos, rollouts, new BidderImpl());
+        otherBids = OpponentProfile.MIDDLE.bids(QUANTITY / 2, CASH);
+        bidder.init(QUANTITY, CASH);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * One round of the auction: own bid and publishing of both bids. A new auction starts after the last round.
+     */
+    @Benchmark
+    public int round() {
+        if (round == otherBids.length) {
+            bidder.init(QUANTITY, CASH);
+            round = 0;
+        }
+        int own = bidder.placeBid();
+        bidder.bids(own, otherBids[round++]);
+        return own;
+    }
+}
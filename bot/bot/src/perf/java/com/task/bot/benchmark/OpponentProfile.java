@@ -0,0 +1,43 @@
+package com.task.bot.benchmark;
+
+/**
+ * Opponent bid sequences of BidderTest.provideBidsCases, scaled to any quantity and cash.
+ * Each profile is a shape of 10 parts of total cash, every part is spread evenly over the rounds of its tenth of
+ * the auction.
+ */
+public enum OpponentProfile {
+
+    AGGRESSIVE(6, 7, 8, 8, 7, 4, 0, 0, 0, 0),
+    PASSIVE(1, 1, 1, 1, 6, 6, 7, 7, 7, 3),
+    MIDDLE(3, 3, 4, 4, 5, 5, 5, 4, 4, 3);
+
+    private final int[] shape;
+    private final int shapeTotal;
+
+    OpponentProfile(int... shape) {
+        this.shape = shape;
+        int total = 0;
+        for (int part : shape)
+            total += part;
+        this.shapeTotal = total;
+    }
+
+    /**
+     * @param rounds number of auction rounds
+     * @param cash the cash limit of the opponent
+     * @return opponent bids per round, which never exceed the cash limit in total
+     */
+    public int[] bids(int rounds, int cash) {
+        int[] bids = new int[rounds];
+        for (int part = 0; part < shape.length; part++) {
+            int from = (int) ((long) rounds * part / shape.length);
+            int to = (int) ((long) rounds * (part + 1) / shape.length);
+            if (to == from)
+                continue;
+            long partCash = (long) cash * shape[part] / shapeTotal;
+            for (int round = from; round < to; round++)
+                bids[round] = (int) (partCash / (to - from));
+        }
+        return bids;
+    }
+}
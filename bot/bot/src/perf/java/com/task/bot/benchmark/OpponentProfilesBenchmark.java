@@ -0,0 +1,87 @@
+package com.task.bot.benchmark;
+
+import com.task.bot.service.Bidder;
+import com.task.bot.service.impl.BidderImpl;
+import com.task.bot.service.impl.BidderStats;
+import com.task.bot.service.impl.OpponentProfiles;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of opponent profiles on the hot path: a round of bidders of concurrent auctions without profiles and with
+ * profiles shared by all of them, where every two threads play against the same opponent, so the profiles are
+ * learned and read concurrently. Short auctions show the cost of resolving and learning the profile per auction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class OpponentProfilesBenchmark {
+
+    private static final int CASH = 1_000_000;
+
+    @State(Scope.Benchmark)
+    public static class SharedProfiles {
+
+        @Param({"none", "shared"})
+        private String profiles;
+
+        @Param({"20", "2000"})
+        private int quantity;
+
+        private OpponentProfiles opponentProfiles;
+
+        @Setup
+        public void setUp() {
+            opponentProfiles = profiles.equals("shared")
+                    ? new OpponentProfiles(65536, Duration.ofHours(1))
+                    : OpponentProfiles.NONE;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Auction {
+
+        private Bidder bidder;
+        private String opponentId;
+        private int quantity;
+        private int[] otherBids;
+        private int round;
+
+        @Setup
+        public void setUp(SharedProfiles shared, ThreadParams thread) {
+            bidder = new BidderImpl(BidderStats.NONE, shared.opponentProfiles);
+            opponentId = "opponent-" + thread.getThreadIndex() / 2;
+            quantity = shared.quantity;
+            otherBids = OpponentProfile.MIDDLE.bids(quantity / 2, CASH);
+            bidder.init(quantity, CASH, opponentId);
+        }
+    }
+
+    @Benchmark
+    public int round(Auction auction) {
+        if (auction.round == auction.otherBids.length) {
+            auction.bidder.init(auction.quantity, CASH, auction.opponentId);
+            auction.round = 0;
+        }
+        int own = auction.bidder.placeBid();
+        auction.bidder.bids(own, auction.otherBids[auction.round++]);
+        return own;
+    }
+}
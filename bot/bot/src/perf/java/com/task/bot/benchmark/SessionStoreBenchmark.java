@@ -0,0 +1,100 @@
+package com.task.bot.benchmark;
+
+import com.task.bot.service.AuctionSessions;
+import com.task.bot.service.impl.AuctionSessionsImpl;
+import com.task.bot.service.impl.BidderStats;
+import com.task.bot.service.impl.FlatAuctionSessions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Object per session ({@link AuctionSessionsImpl}) against flat arenas ({@link FlatAuctionSessions}) with millions of
+ * live auctions: a round of a random auction, where every 10 rounds the auction is initialized again, and a full
+ * garbage collection with all the auctions live, which is the pause the store adds to the old generation marking.
+ * Heap bytes per session, ids excluded, are printed by the setup as "bytes per session".
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class SessionStoreBenchmark {
+
+    private static final int QUANTITY = 20;
+    private static final int CASH = 10_000;
+
+    @Param({"objects", "flat"})
+    private String store;
+
+    @Param({"1000000"})
+    private int auctions;
+
+    private String[] ids;
+    private AuctionSessions sessions;
+    private int[] own;
+    private int[] rounds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        ids = new String[auctions];
+        for (int i = 0; i < auctions; i++)
+            ids[i] = "auction-" + i;
+        own = new int[auctions];
+        rounds = new int[auctions];
+        long before = usedHeap();
+        sessions = store.equals("flat")
+                ? new FlatAuctionSessions(new BidderStats())
+                : new AuctionSessionsImpl(new BidderStats());
+        for (int i = 0; i < auctions; i++) {
+            sessions.init(ids[i], QUANTITY, CASH);
+            own[i] = sessions.placeBid(ids[i]);
+        }
+        System.out.printf("%n%s: %d bytes per session%n", store, (usedHeap() - before) / auctions);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public int round() {
+        int auction = next;
+        next = (int) ((auction + 0x9E3779B1L) % auctions);
+        if (++rounds[auction] == QUANTITY / 2) {
+            rounds[auction] = 0;
+            sessions.init(ids[auction], QUANTITY, CASH);
+            own[auction] = sessions.placeBid(ids[auction]);
+        } else {
+            own[auction] = sessions.round(ids[auction], own[auction], CASH / QUANTITY);
+        }
+        return own[auction];
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int fullGc() {
+        System.gc();
+        return sessions.size();
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,179 @@
+package com.task.bot.benchmark;
+
+import com.task.bot.BidderApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round latency of a live auction over a running application: the two calls of a round of the /api bidder,
+ * GET /api/placeBid and POST /api/bids, its combined POST /api/round call and the WebSocket round command on
+ * a persistent connection. Every round publishes the bid placed by the application and the bid of the middle opponent
+ * profile, so the bidder plays a real auction rather than its zero bid path. The /api bidder is a single auction,
+ * so there is a single client.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class TransportLatencyBenchmark {
+
+    private static final int QUANTITY = 2_000;
+    private static final int CASH = 1_000_000;
+    private static final int ROUNDS = QUANTITY / 2;
+
+    @State(Scope.Benchmark)
+    public static class Server {
+
+        private ConfigurableApplicationContext context;
+        private String host;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = SpringApplication.run(BidderApplication.class, "--server.port=0", "--logging.level.root=WARN");
+            host = "localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Client {
+
+        private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        private final String auctionId = UUID.randomUUID().toString();
+        private final int[] otherBids = OpponentProfile.MIDDLE.bids(ROUNDS, CASH);
+        private String api;
+        private WebSocket webSocket;
+        private volatile CompletableFuture<String> reply;
+        private int round = ROUNDS;
+        private int bid;
+
+        @Setup(Level.Trial)
+        public void connect(Server server) {
+            api = "http://" + server.host + "/api";
+            webSocket = http.newWebSocketBuilder()
+                    .buildAsync(URI.create("ws://" + server.host + "/ws/auctions"), new WebSocket.Listener() {
+                        private final StringBuilder text = new StringBuilder();
+
+                        @Override
+                        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+                            text.append(data);
+                            if (last) {
+                                reply.complete(text.toString());
+                                text.setLength(0);
+                            }
+                            webSocket.request(1);
+                            return null;
+                        }
+                    })
+                    .join();
+        }
+
+        @TearDown(Level.Trial)
+        public void disconnect() {
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").join();
+        }
+
+        /**
+         * Starts a new auction of the /api bidder once the previous one is over.
+         */
+        private void restAuction() throws Exception {
+            if (round < ROUNDS)
+                return;
+            send(HttpRequest.newBuilder(URI.create(api + "/init?quantity=" + QUANTITY + "&cash=" + CASH))
+                    .PUT(HttpRequest.BodyPublishers.noBody()));
+            bid = restBid(send(HttpRequest.newBuilder(URI.create(api + "/placeBid")).GET()));
+            round = 0;
+        }
+
+        /**
+         * Starts a new auction of the WebSocket channel once the previous one is over.
+         */
+        private void webSocketAuction() {
+            if (round < ROUNDS)
+                return;
+            exchange("I " + auctionId + " " + QUANTITY + " " + CASH);
+            bid = webSocketBid(exchange("P " + auctionId));
+            round = 0;
+        }
+
+        private String send(HttpRequest.Builder request) throws Exception {
+            return http.send(request.build(), HttpResponse.BodyHandlers.ofString()).body();
+        }
+
+        private String exchange(String command) {
+            reply = new CompletableFuture<>();
+            webSocket.sendText(command, true);
+            return reply.join();
+        }
+
+        /**
+         * @param body JSON of a {@link com.task.bot.dto.BidDTO}
+         */
+        private static int restBid(String body) {
+            return Integer.parseInt(body.substring(body.indexOf(':') + 1, body.indexOf('}')).trim());
+        }
+
+        /**
+         * @param line reply "B id bid"
+         */
+        private static int webSocketBid(String line) {
+            return Integer.parseInt(line.substring(line.lastIndexOf(' ') + 1).trim());
+        }
+    }
+
+    @Benchmark
+    public int restBidsAndPlaceBid(Client client) throws Exception {
+        client.restAuction();
+        client.send(HttpRequest.newBuilder(URI.create(client.api + "/bids?own=" + client.bid + "&other="
+                        + client.otherBids[client.round++]))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        client.bid = Client.restBid(client.send(HttpRequest.newBuilder(URI.create(client.api + "/placeBid")).GET()));
+        return client.bid;
+    }
+
+    @Benchmark
+    public int restRound(Client client) throws Exception {
+        client.restAuction();
+        client.bid = Client.restBid(client.send(HttpRequest.newBuilder(URI.create(client.api + "/round?own="
+                        + client.bid + "&other=" + client.otherBids[client.round++]))
+                .POST(HttpRequest.BodyPublishers.noBody())));
+        return client.bid;
+    }
+
+    @Benchmark
+    public int webSocketRound(Client client) {
+        client.webSocketAuction();
+        client.bid = Client.webSocketBid(client.exchange("R " + client.auctionId + " " + client.bid + " "
+                + client.otherBids[client.round++]));
+        return client.bid;
+    }
+}
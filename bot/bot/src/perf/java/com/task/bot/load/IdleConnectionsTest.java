@@ -0,0 +1,128 @@
+package com.task.bot.load;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Memory per connection and throughput of the servlet and the reactive web stack of a running instance with many
+ * mostly idle auction connections. Opens the idle keep-alive connections, each of which places one bid and then
+ * stays open, and reports the growth of the resident set and of the heap after a full garbage collection of the
+ * server per connection. Then, with the idle connections open, runs the closed loop of {@link LoadTest} with the
+ * active clients and reports throughput and latency percentiles per endpoint.
+ * The server is measured by jcmd and /proc, so it has to run on the same Linux host.
+ * Options: --url=http://localhost:8081 --pid=(server process id) --connections=10000 --clients=100 --warmup=10
+ * --duration=30 (seconds)
+ */
+public final class IdleConnectionsTest {
+
+    private IdleConnectionsTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8081";
+        long pid = 0;
+        int connections = 10_000;
+        int clients = 100;
+        int warmup = 10;
+        int duration = 30;
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            switch (option[0]) {
+                case "--url" -> url = option[1];
+                case "--pid" -> pid = Long.parseLong(option[1]);
+                case "--connections" -> connections = Integer.parseInt(option[1]);
+                case "--clients" -> clients = Integer.parseInt(option[1]);
+                case "--warmup" -> warmup = Integer.parseInt(option[1]);
+                case "--duration" -> duration = Integer.parseInt(option[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + option[0]);
+            }
+        }
+        if (pid == 0)
+            throw new IllegalArgumentException("--pid of the server is required");
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        LoadTest.send(http, HttpRequest.newBuilder(URI.create(url + "/api/init?quantity=2000000&cash=2000000000"))
+                .PUT(HttpRequest.BodyPublishers.noBody()).build());
+        new LoadTest.Run(http, url, clients).execute(Duration.ofSeconds(warmup));
+
+        long rssBefore = residentSet(pid);
+        long heapBefore = heapAfterGc(http, url, pid);
+        URI uri = URI.create(url);
+        byte[] request = ("GET /api/placeBid HTTP/1.1\r\nHost: " + uri.getHost() + "\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        List<Socket> idle = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++)
+                idle.add(open(uri, request));
+            long heapAfter = heapAfterGc(http, url, pid);
+            long rssAfter = residentSet(pid);
+            System.out.printf("idle connections %d: %d bytes of resident set, %d bytes of heap per connection%n",
+                    connections, (rssAfter - rssBefore) / connections, (heapAfter - heapBefore) / connections);
+
+            LoadTest.Run run = new LoadTest.Run(http, url, clients);
+            run.execute(Duration.ofSeconds(duration));
+            System.out.printf("clients %d beside %d idle connections, %d s, errors %d%n", clients, connections,
+                    duration, run.errors.sum());
+            LoadTest.report("placeBid", run.placeBid, duration);
+            LoadTest.report("bids", run.bids, duration);
+        } finally {
+            for (Socket socket : idle)
+                socket.close();
+        }
+    }
+
+    /**
+     * Opens a connection and places a bid over it, so the server has accepted and served the connection.
+     */
+    private static Socket open(URI uri, byte[] request) throws Exception {
+        Socket socket = new Socket(uri.getHost(), uri.getPort());
+        OutputStream out = socket.getOutputStream();
+        out.write(request);
+        out.flush();
+        InputStream in = socket.getInputStream();
+        int read;
+        while ((read = in.read()) != '}')
+            if (read < 0)
+                throw new IllegalStateException("Connection closed by the server");
+        return socket;
+    }
+
+    private static long residentSet(long pid) throws Exception {
+        for (String line : Files.readAllLines(Path.of("/proc/" + pid + "/status")))
+            if (line.startsWith("VmRSS:"))
+                return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+        throw new IllegalStateException("No resident set size of process " + pid);
+    }
+
+    /**
+     * @return heap used by the server after a full garbage collection, from /actuator/metrics
+     */
+    private static long heapAfterGc(HttpClient http, String url, long pid) throws Exception {
+        Process jcmd = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "jcmd").toString(),
+                Long.toString(pid), "GC.run").redirectErrorStream(true).start();
+        jcmd.getInputStream().transferTo(OutputStream.nullOutputStream());
+        if (jcmd.waitFor() != 0)
+            throw new IllegalStateException("jcmd " + pid + " GC.run failed");
+        String body = http.send(HttpRequest.newBuilder(URI.create(url + "/actuator/metrics/jvm.memory.used?tag=area:heap"))
+                .GET().build(), HttpResponse.BodyHandlers.ofString()).body();
+        int start = body.indexOf("\"value\":") + "\"value\":".length();
+        int end = start;
+        while (end < body.length() && "0123456789.E".indexOf(body.charAt(end)) >= 0)
+            end++;
+        return (long) Double.parseDouble(body.substring(start, end));
+    }
+}
@@ -0,0 +1,287 @@
+package com.task.bot.load;
+
+import com.task.bot.service.Bidder;
+import com.task.bot.simulation.Opponent;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load of a running instance, which plays whole auctions against it as the auctioneer and the opponent bot.
+ * Every auction is a virtual thread, which initializes the bidder with a random quantity and cash, then in every round
+ * places a bid of the bidder and of a local {@link Opponent} and publishes both bids, until the product is sold out.
+ * Opponents are taken in turn from the list, and their names are sent as the opponent id, so the server learns them.
+ * Auctions are played over PUT /api/auctions/{id}/init, GET /api/auctions/{id}/placeBid and POST
+ * /api/auctions/{id}/bids, with --auctions=1 over the single bidder at PUT /api/init, GET /api/placeBid and
+ * POST /api/bids.
+ * Reports rounds per second, latency percentiles per endpoint and per round, errors (failed calls and responses
+ * other than 200) and inconsistencies (a negative bid or a bid above the cash left of the bidder).
+ * As a regression gate, --save writes the results to a file and --baseline compares the results with a saved file:
+ * the run fails with exit code 1 if there are errors or inconsistencies, if rounds per second fall or p99 of the round
+ * latency grows by more than the tolerance.
+ * Options: --url=http://localhost:8081 --auctions=100 --opponents=RANDOM,FRONT_LOADED,BACK_LOADED,MIRROR
+ * --quantity=200 --cash=10000 (maximums of an auction) --warmup=10 --duration=30 (seconds) --seed=1
+ * --save=file --baseline=file --tolerance=10 (percent)
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8081";
+        int auctions = 100;
+        List<Opponent> opponents = List.of(Opponent.RANDOM, Opponent.FRONT_LOADED, Opponent.BACK_LOADED, Opponent.MIRROR);
+        int quantity = 200;
+        int cash = 10_000;
+        int warmup = 10;
+        int duration = 30;
+        long seed = 1;
+        Path save = null;
+        Path baseline = null;
+        int tolerance = 10;
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            switch (option[0]) {
+                case "--url" -> url = option[1];
+                case "--auctions" -> auctions = Integer.parseInt(option[1]);
+                case "--opponents" -> {
+                    opponents = new ArrayList<>();
+                    for (String name : option[1].split(","))
+                        opponents.add(Opponent.valueOf(name.trim()));
+                }
+                case "--quantity" -> quantity = Integer.parseInt(option[1]);
+                case "--cash" -> cash = Integer.parseInt(option[1]);
+                case "--warmup" -> warmup = Integer.parseInt(option[1]);
+                case "--duration" -> duration = Integer.parseInt(option[1]);
+                case "--seed" -> seed = Long.parseLong(option[1]);
+                case "--save" -> save = Path.of(option[1]);
+                case "--baseline" -> baseline = Path.of(option[1]);
+                case "--tolerance" -> tolerance = Integer.parseInt(option[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + option[0]);
+            }
+        }
+        if (auctions < 1 || quantity < 2 || cash < 0 || opponents.isEmpty())
+            throw new IllegalArgumentException("At least one auction, two units and an opponent are required");
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        Run warmupRun = new Run(http, url, auctions, opponents, quantity, cash, seed);
+        warmupRun.execute(Duration.ofSeconds(warmup));
+        Run run = new Run(http, url, auctions, opponents, quantity, cash, seed + 1);
+        run.execute(Duration.ofSeconds(duration));
+
+        Properties results = run.results(duration);
+        System.out.printf("auctions %d, %d s, opponents %s%n", auctions, duration, opponents);
+        System.out.printf("finished auctions %d, rounds %d, %.0f rounds/s, errors %d, inconsistencies %d%n",
+                run.finished.sum(), run.round.count(), (double) run.round.count() / duration, run.errors.sum(),
+                run.inconsistencies.sum());
+        report("init", run.init, duration);
+        report("placeBid", run.placeBid, duration);
+        report("bids", run.bids, duration);
+        report("round", run.round, duration);
+        if (save != null)
+            try (Writer writer = Files.newBufferedWriter(save)) {
+                results.store(writer, "LoadGenerator " + String.join(" ", args));
+            }
+        if (!gate(results, baseline, tolerance))
+            System.exit(1);
+    }
+
+    private static void report(String endpoint, LatencyHistogram histogram, int duration) {
+        System.out.printf("%-10s %10.0f req/s  p50 %8d us  p90 %8d us  p99 %8d us  p99.9 %8d us%n", endpoint,
+                (double) histogram.count() / duration, histogram.percentile(50), histogram.percentile(90),
+                histogram.percentile(99), histogram.percentile(99.9));
+    }
+
+    /**
+     * @return false if the run has errors or inconsistencies or it is slower than the baseline by more than the
+     * tolerance
+     */
+    private static boolean gate(Properties results, Path baseline, int tolerance) throws Exception {
+        boolean passed = true;
+        for (String key : new String[]{"errors", "inconsistencies"})
+            if (Long.parseLong(results.getProperty(key)) > 0) {
+                System.out.printf("FAILED: %s %s%n", key, results.getProperty(key));
+                passed = false;
+            }
+        if (baseline == null)
+            return passed;
+        Properties expected = new Properties();
+        try (Reader reader = Files.newBufferedReader(baseline)) {
+            expected.load(reader);
+        }
+        double throughput = Double.parseDouble(results.getProperty("rounds.per.second"));
+        double expectedThroughput = Double.parseDouble(expected.getProperty("rounds.per.second"));
+        if (throughput < expectedThroughput * (100 - tolerance) / 100) {
+            System.out.printf("FAILED: %.0f rounds/s, baseline %.0f rounds/s%n", throughput, expectedThroughput);
+            passed = false;
+        }
+        long p99 = Long.parseLong(results.getProperty("round.p99"));
+        long expectedP99 = Long.parseLong(expected.getProperty("round.p99"));
+        if (p99 > expectedP99 * (100 + tolerance) / 100) {
+            System.out.printf("FAILED: round p99 %d us, baseline %d us%n", p99, expectedP99);
+            passed = false;
+        }
+        if (passed)
+            System.out.printf("PASSED: within %d%% of %s%n", tolerance, baseline);
+        return passed;
+    }
+
+    private static final class Run {
+
+        private final HttpClient http;
+        private final String url;
+        private final int auctions;
+        private final List<Opponent> opponents;
+        private final int quantity;
+        private final int cash;
+        private final long seed;
+        private final LatencyHistogram init = new LatencyHistogram();
+        private final LatencyHistogram placeBid = new LatencyHistogram();
+        private final LatencyHistogram bids = new LatencyHistogram();
+        private final LatencyHistogram round = new LatencyHistogram();
+        private final LongAdder finished = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder inconsistencies = new LongAdder();
+
+        private Run(HttpClient http, String url, int auctions, List<Opponent> opponents, int quantity, int cash,
+                    long seed) {
+            this.http = http;
+            this.url = url;
+            this.auctions = auctions;
+            this.opponents = opponents;
+            this.quantity = quantity;
+            this.cash = cash;
+            this.seed = seed;
+        }
+
+        private void execute(Duration duration) throws Exception {
+            long deadline = System.nanoTime() + duration.toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>(auctions);
+                for (int i = 0; i < auctions; i++) {
+                    int auction = i;
+                    futures.add(executor.submit(() -> play(auction, deadline)));
+                }
+                for (Future<?> future : futures)
+                    future.get();
+            }
+        }
+
+        /**
+         * Plays auctions one after another until the deadline. A failed call is counted as an error and the auction
+         * is abandoned for a new one, the auction left unfinished is removed at the end.
+         */
+        private void play(int auction, long deadline) {
+            SplittableRandom random = new SplittableRandom(seed * 1_000_003 + auction);
+            Opponent opponentProfile = opponents.get(auction % opponents.size());
+            Bidder opponent = opponentProfile.create(random);
+            String opponentId = opponentProfile.name().toLowerCase().replace('_', '-');
+            String base = auctions == 1 ? url + "/api" : url + "/api/auctions/load-" + seed + "-" + auction;
+            HttpRequest placeBidRequest = HttpRequest.newBuilder(URI.create(base + "/placeBid")).GET().build();
+            HttpRequest removeRequest = HttpRequest.newBuilder(URI.create(base)).DELETE().build();
+            boolean open = false;
+            play:
+            while (System.nanoTime() < deadline) {
+                int auctionQuantity = 2 + random.nextInt(quantity - 1);
+                int auctionCash = random.nextInt(cash + 1);
+                HttpRequest initRequest = HttpRequest.newBuilder(URI.create(base + "/init?quantity=" + auctionQuantity
+                                + "&cash=" + auctionCash + "&opponent=" + opponentId))
+                        .PUT(HttpRequest.BodyPublishers.noBody()).build();
+                if (call(initRequest, init) == null)
+                    continue;
+                open = auctions > 1;
+                opponent.init(auctionQuantity, auctionCash);
+                int ownCashLeft = auctionCash;
+                for (int quantityLeft = auctionQuantity; quantityLeft > 0; quantityLeft -= 2) {
+                    if (System.nanoTime() >= deadline)
+                        break play;
+                    long start = System.nanoTime();
+                    String body = call(placeBidRequest, placeBid);
+                    if (body == null)
+                        continue play;
+                    int own = parseBid(body);
+                    if (own < 0 || own > ownCashLeft) {
+                        inconsistencies.increment();
+                        own = Math.max(0, Math.min(own, ownCashLeft));
+                    }
+                    int other = opponent.placeBid();
+                    HttpRequest bidsRequest = HttpRequest.newBuilder(URI.create(base + "/bids?own=" + own
+                                    + "&other=" + other))
+                            .POST(HttpRequest.BodyPublishers.noBody()).build();
+                    if (call(bidsRequest, bids) == null)
+                        continue play;
+                    round.record((System.nanoTime() - start) / 1000);
+                    opponent.bids(other, own);
+                    ownCashLeft -= own;
+                }
+                if (open && call(removeRequest, null) != null)
+                    open = false;
+                finished.increment();
+            }
+            if (open)
+                call(removeRequest, null);
+        }
+
+        /**
+         * @return body of the response, null if the call failed
+         */
+        private String call(HttpRequest request, LatencyHistogram histogram) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                if (histogram != null)
+                    histogram.record((System.nanoTime() - start) / 1000);
+                if (response.statusCode() == 200)
+                    return response.body();
+            } catch (Exception e) {
+                // counted as an error below
+            }
+            errors.increment();
+            return null;
+        }
+
+        /**
+         * @param body {"bid":N}
+         * @return the bid, -1 if the body has none
+         */
+        private static int parseBid(String body) {
+            int start = body.indexOf(':');
+            int end = body.indexOf('}', start);
+            try {
+                return start < 0 || end < 0 ? -1 : Integer.parseInt(body.substring(start + 1, end).trim());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        private Properties results(int duration) {
+            Properties results = new Properties();
+            results.setProperty("rounds", Long.toString(round.count()));
+            results.setProperty("rounds.per.second", Double.toString((double) round.count() / duration));
+            results.setProperty("errors", Long.toString(errors.sum()));
+            results.setProperty("inconsistencies", Long.toString(inconsistencies.sum()));
+            for (String percentile : new String[]{"50", "90", "99", "99.9"})
+                results.setProperty("round.p" + percentile, Long.toString(round.percentile(Double.parseDouble(percentile))));
+            return results;
+        }
+    }
+}
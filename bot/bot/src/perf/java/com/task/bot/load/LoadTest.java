@@ -0,0 +1,112 @@
+package com.task.bot.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test of GET /api/placeBid and POST /api/bids of a running instance.
+ * Every client is a virtual thread, which places a bid and publishes it as both bids, as fast as the server replies.
+ * Reports throughput and latency percentiles per endpoint.
+ * Options: --url=http://localhost:8081 --clients=1000 --warmup=10 --duration=30 (seconds)
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8081";
+        int clients = 1000;
+        int warmup = 10;
+        int duration = 30;
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            switch (option[0]) {
+                case "--url" -> url = option[1];
+                case "--clients" -> clients = Integer.parseInt(option[1]);
+                case "--warmup" -> warmup = Integer.parseInt(option[1]);
+                case "--duration" -> duration = Integer.parseInt(option[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + option[0]);
+            }
+        }
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        send(http, HttpRequest.newBuilder(URI.create(url + "/api/init?quantity=2000000&cash=2000000000"))
+                .PUT(HttpRequest.BodyPublishers.noBody()).build());
+
+        Run warmupRun = new Run(http, url, clients);
+        warmupRun.execute(Duration.ofSeconds(warmup));
+        Run run = new Run(http, url, clients);
+        run.execute(Duration.ofSeconds(duration));
+        System.out.printf("clients %d, %d s, errors %d%n", clients, duration, run.errors.sum());
+        report("placeBid", run.placeBid, duration);
+        report("bids", run.bids, duration);
+    }
+
+    static void report(String endpoint, LatencyHistogram histogram, int duration) {
+        System.out.printf("%-10s %10.0f req/s  p50 %8d us  p90 %8d us  p99 %8d us  p99.9 %8d us%n", endpoint,
+                (double) histogram.count() / duration, histogram.percentile(50), histogram.percentile(90),
+                histogram.percentile(99), histogram.percentile(99.9));
+    }
+
+    static int send(HttpClient http, HttpRequest request) throws Exception {
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    static final class Run {
+
+        private final HttpClient http;
+        private final HttpRequest placeBidRequest;
+        private final HttpRequest bidsRequest;
+        private final int clients;
+        final LatencyHistogram placeBid = new LatencyHistogram();
+        final LatencyHistogram bids = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+
+        Run(HttpClient http, String url, int clients) {
+            this.http = http;
+            this.clients = clients;
+            placeBidRequest = HttpRequest.newBuilder(URI.create(url + "/api/placeBid")).GET().build();
+            bidsRequest = HttpRequest.newBuilder(URI.create(url + "/api/bids?own=1&other=1"))
+                    .POST(HttpRequest.BodyPublishers.noBody()).build();
+        }
+
+        void execute(Duration duration) throws Exception {
+            long deadline = System.nanoTime() + duration.toNanos();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>(clients);
+                for (int i = 0; i < clients; i++)
+                    futures.add(executor.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            call(placeBidRequest, placeBid);
+                            call(bidsRequest, bids);
+                        }
+                    }));
+                for (Future<?> future : futures)
+                    future.get();
+            }
+        }
+
+        private void call(HttpRequest request, LatencyHistogram histogram) {
+            long start = System.nanoTime();
+            try {
+                if (send(http, request) != 200)
+                    errors.increment();
+            } catch (Exception e) {
+                errors.increment();
+            }
+            histogram.record((System.nanoTime() - start) / 1000);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.task.bot.load;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup time and memory footprint of the application started by the given command: the time from starting the
+ * process to the first successful GET /api/placeBid, polled every few milliseconds, and the resident set of the
+ * process at that moment along with its peak so far. The command is run the given number of times with
+ * --server.port appended, the median, the minimum and the maximum of every measure are reported.
+ * The process is measured by /proc, so it has to run on Linux.
+ * Usage: StartupProbe --runs=5 --port=18081 --timeout=120 (seconds) -- java -jar target/bot-0.0.1-SNAPSHOT.jar
+ */
+public final class StartupProbe {
+
+    private static final long POLL_MILLIS = 5;
+
+    private StartupProbe() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        int port = 18081;
+        int timeout = 120;
+        int commandStart = args.length;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--")) {
+                commandStart = i + 1;
+                break;
+            }
+            String[] option = args[i].split("=", 2);
+            switch (option[0]) {
+                case "--runs" -> runs = Integer.parseInt(option[1]);
+                case "--port" -> port = Integer.parseInt(option[1]);
+                case "--timeout" -> timeout = Integer.parseInt(option[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + option[0]);
+            }
+        }
+        if (commandStart >= args.length)
+            throw new IllegalArgumentException("Command of the application is required after --");
+        List<String> command = new ArrayList<>(Arrays.asList(args).subList(commandStart, args.length));
+        command.add("--server.port=" + port);
+        URL placeBid = URI.create("http://localhost:" + port + "/api/placeBid").toURL();
+
+        long[] firstBidMillis = new long[runs];
+        long[] residentSet = new long[runs];
+        long[] peakResidentSet = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                long deadline = start + TimeUnit.SECONDS.toNanos(timeout);
+                while (!placed(placeBid)) {
+                    if (!process.isAlive() || System.nanoTime() > deadline)
+                        throw new IllegalStateException("No bid placed by " + String.join(" ", command));
+                    Thread.sleep(POLL_MILLIS);
+                }
+                firstBidMillis[run] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                residentSet[run] = status(process.pid(), "VmRSS:");
+                peakResidentSet[run] = status(process.pid(), "VmHWM:");
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS))
+                    process.destroyForcibly().waitFor();
+            }
+            System.out.printf("run %d: first placeBid %d ms, resident set %d MB, peak %d MB%n", run + 1,
+                    firstBidMillis[run], residentSet[run] >> 20, peakResidentSet[run] >> 20);
+        }
+        System.out.println(String.join(" ", command.subList(0, command.size() - 1)));
+        report("first placeBid, ms", firstBidMillis, 0);
+        report("resident set, MB", residentSet, 20);
+        report("peak resident set, MB", peakResidentSet, 20);
+    }
+
+    private static boolean placed(URL placeBid) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) placeBid.openConnection();
+            connection.setConnectTimeout(1000);
+            connection.setReadTimeout(10_000);
+            try {
+                return connection.getResponseCode() == 200;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return value of the field of /proc/pid/status in bytes
+     */
+    private static long status(long pid, String field) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc/" + pid + "/status")))
+            if (line.startsWith(field))
+                return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+        throw new IllegalStateException("No " + field + " of process " + pid);
+    }
+
+    private static void report(String measure, long[] values, int shift) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-22s median %6d  min %6d  max %6d%n", measure, sorted[sorted.length / 2] >> shift,
+                sorted[0] >> shift, sorted[sorted.length - 1] >> shift);
+    }
+}
@@ -0,0 +1,90 @@
+package com.task.bot.simulation;
+
+import com.task.bot.service.Bidder;
+import com.task.bot.service.impl.BidderImpl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Command line entry of the backtest and of recording synthetic histories.
+ * Backtest of the strategies against the recorded opponent bids of history files:
+ * --baseline=OPPONENT --candidate=OPPONENT --diffs=FILE --parallelism=P FILE...
+ * where strategies are names of {@link Opponent}, and diffs are written as CSV if the file is given.
+ * Recording of a history of the opponent bids against {@link BidderImpl}:
+ * --record=FILE --auctions=N --opponent=OPPONENT --quantity=MIN:MAX --cash=MIN:MAX --seed=S
+ */
+public final class BacktestRunner {
+
+    private BacktestRunner() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Opponent baseline = Opponent.BIDDER_IMPL;
+        Opponent candidate = Opponent.BIDDER_IMPL;
+        Path diffs = null;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        Path record = null;
+        long auctions = 1_000_000;
+        Opponent opponent = Opponent.RANDOM;
+        int[] quantity = {2, 200};
+        int[] cash = {0, 10_000};
+        long seed = 42;
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                files.add(Path.of(arg));
+                continue;
+            }
+            String[] option = arg.split("=", 2);
+            if (option.length != 2)
+                throw new IllegalArgumentException("Option " + arg + " is not in form --name=value");
+            switch (option[0]) {
+                case "--baseline" -> baseline = Opponent.valueOf(option[1]);
+                case "--candidate" -> candidate = Opponent.valueOf(option[1]);
+                case "--diffs" -> diffs = Path.of(option[1]);
+                case "--parallelism" -> parallelism = Integer.parseInt(option[1]);
+                case "--record" -> record = Path.of(option[1]);
+                case "--auctions" -> auctions = Long.parseLong(option[1]);
+                case "--opponent" -> opponent = Opponent.valueOf(option[1]);
+                case "--quantity" -> quantity = range(option[1]);
+                case "--cash" -> cash = range(option[1]);
+                case "--seed" -> seed = Long.parseLong(option[1]);
+                default -> throw new IllegalArgumentException("Unknown option " + option[0]);
+            }
+        }
+        if (record != null) {
+            HistoryRecorder.record(record, auctions, opponent, quantity, cash, seed);
+            return;
+        }
+        try (Writer out = diffs == null ? Writer.nullWriter() : Files.newBufferedWriter(diffs)) {
+            out.write(OutcomeDiff.CSV_HEADER + System.lineSeparator());
+            BacktestReport report = new Backtest(strategy(baseline, seed), strategy(candidate, seed))
+                    .parallelism(parallelism)
+                    .run(files, diff -> {
+                        try {
+                            out.write(diff.toCsv() + System.lineSeparator());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+            System.out.print(report);
+        }
+    }
+
+    private static Supplier<Bidder> strategy(Opponent opponent, long seed) {
+        return () -> opponent.create(new SplittableRandom(seed));
+    }
+
+    private static int[] range(String range) {
+        String[] bounds = range.split(":");
+        return new int[]{Integer.parseInt(bounds[0]), Integer.parseInt(bounds[bounds.length - 1])};
+    }
+}
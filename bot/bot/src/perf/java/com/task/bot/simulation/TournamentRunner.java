@@ -0,0 +1,58 @@
+package com.task.bot.simulation;
+
+import com.task.bot.service.impl.BidTables;
+import com.task.bot.service.impl.BidderImpl;
+import com.task.bot.service.impl.DpBidder;
+import com.task.bot.service.impl.OpponentModel;
+
+import java.util.List;
+
+/**
+ * Command line entry of the tournament of {@link BidderImpl} against all opponents.
+ * Options: --auctions=N --quantity=MIN:MAX --cash=MIN:MAX --seed=S --parallelism=P
+ * --dp=MODEL evaluates {@link DpBidder} solved against the {@link OpponentModel} instead, with up to 256M states
+ * of cached tables.
+ */
+public final class TournamentRunner {
+
+    private TournamentRunner() {
+    }
+
+    public static void main(String[] args) {
+        long auctions = 1_000_000;
+        Tournament tournament = null;
+        for (String arg : args) {
+            if (arg.startsWith("--dp=")) {
+                BidTables tables = new BidTables(OpponentModel.valueOf(arg.substring(5)), 1L << 28, 1L << 26, null);
+                tournament = new Tournament(() -> new DpBidder(tables, new BidderImpl()), List.of(Opponent.values()));
+            }
+        }
+        if (tournament == null)
+            tournament = new Tournament(BidderImpl::new, List.of(Opponent.values()));
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2)
+                throw new IllegalArgumentException("Option " + arg + " is not in form --name=value");
+            switch (option[0]) {
+                case "--auctions" -> auctions = Long.parseLong(option[1]);
+                case "--quantity" -> tournament.quantity(min(option[1]), max(option[1]));
+                case "--cash" -> tournament.cash(min(option[1]), max(option[1]));
+                case "--seed" -> tournament.seed(Long.parseLong(option[1]));
+                case "--parallelism" -> tournament.parallelism(Integer.parseInt(option[1]));
+                case "--dp" -> {
+                }
+                default -> throw new IllegalArgumentException("Unknown option " + option[0]);
+            }
+        }
+        System.out.print(tournament.run(auctions));
+    }
+
+    private static int min(String range) {
+        return Integer.parseInt(range.split(":")[0]);
+    }
+
+    private static int max(String range) {
+        String[] bounds = range.split(":");
+        return Integer.parseInt(bounds[bounds.length - 1]);
+    }
+}
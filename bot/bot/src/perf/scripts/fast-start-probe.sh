@@ -0,0 +1,18 @@
+#!/bin/sh
+# Compares time to the first /api/placeBid and the resident set of the current jar, the current jar with the prod
+# profile (no springdoc), the ahead-of-time processed fast-start jar and the fast-start jar with its class data sharing
+# archive. Run from bot/bot.
+set -e
+RUNS=${RUNS:-3}
+mvn -q -Pfast-start -DskipTests package
+JAR=target/bot-0.0.1-SNAPSHOT.jar
+FAST=target/fast-start/bot-0.0.1-SNAPSHOT-fast-start.jar
+probe() {
+  mvn -q -Pperf test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.task.bot.load.StartupProbe \
+      -Dexec.args="--runs=$RUNS -- $*"
+}
+probe java -jar $JAR
+probe java -Dspring.profiles.active=prod -jar $JAR
+probe java -Dspring.aot.enabled=true -Dspring.profiles.active=prod -jar $FAST
+probe java -XX:SharedArchiveFile=target/fast-start/bot.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=prod \
+      -jar $FAST
@@ -0,0 +1,21 @@
+#!/bin/sh
+# Regression gate of a change to the bidder: plays whole auctions against a local instance with the LoadGenerator tool
+# and compares rounds per second and p99 round latency with the baseline saved by a run of the same script on the
+# commit before the change. Run from bot/bot: first with SAVE=1 on the base commit, then on the change.
+set -e
+DURATION=${DURATION:-30}
+AUCTIONS=${AUCTIONS:-1000}
+TOLERANCE=${TOLERANCE:-10}
+BASELINE=${BASELINE:-target/load-baseline.properties}
+mvn -q -DskipTests package
+java -jar target/bot-0.0.1-SNAPSHOT.jar > target/load-gate-server.log 2>&1 &
+SERVER=$!
+trap 'kill $SERVER' EXIT
+until curl -s -o /dev/null http://localhost:8081/api/auctions/strategies; do sleep 1; done
+if [ -n "$SAVE" ]; then
+  GATE="--save=$BASELINE"
+else
+  GATE="--baseline=$BASELINE --tolerance=$TOLERANCE"
+fi
+mvn -q -Pperf test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.task.bot.load.LoadGenerator \
+    -Dexec.args="--auctions=$AUCTIONS --duration=$DURATION $GATE"
@@ -0,0 +1,19 @@
+#!/bin/sh
+# Compares throughput and latency of /api/placeBid and /api/bids with the Tomcat platform thread pool and with
+# virtual threads for 1k, 5k and 10k concurrent clients. Run from bot/bot.
+set -e
+DURATION=${DURATION:-30}
+mvn -q -DskipTests package
+for MODE in false true; do
+  java -Dbidder.web.virtual-threads=$MODE -Dserver.tomcat.max-connections=20000 \
+       -jar target/bot-0.0.1-SNAPSHOT.jar > target/load-test-server-$MODE.log 2>&1 &
+  SERVER=$!
+  until curl -s -o /dev/null http://localhost:8081/api/placeBid; do sleep 1; done
+  for CLIENTS in 1000 5000 10000; do
+    echo "virtual threads: $MODE"
+    mvn -q -Pperf test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.task.bot.load.LoadTest \
+        -Dexec.args="--clients=$CLIENTS --duration=$DURATION"
+  done
+  kill $SERVER
+  wait $SERVER || true
+done
@@ -0,0 +1,22 @@
+#!/bin/sh
+# Compares memory per idle connection, throughput and latency of /api/placeBid and /api/bids of the servlet (Tomcat)
+# and the reactive (Netty) web stack with 1k, 10k and 50k idle connections beside 100 active clients. Run from
+# bot/bot, the open file limit of the shell has to exceed the number of connections.
+set -e
+DURATION=${DURATION:-30}
+mvn -q -DskipTests package
+for STACK in servlet reactive; do
+  for CONNECTIONS in 1000 10000 50000; do
+    java -Dspring.main.web-application-type=$STACK -Dserver.tomcat.max-connections=60000 \
+         -Dserver.tomcat.keep-alive-timeout=10m \
+         -jar target/bot-0.0.1-SNAPSHOT.jar > target/web-stack-server-$STACK.log 2>&1 &
+    SERVER=$!
+    until curl -s -o /dev/null http://localhost:8081/api/placeBid; do sleep 1; done
+    echo "web stack: $STACK"
+    mvn -q -Pperf test-compile exec:java -Dexec.classpathScope=test \
+        -Dexec.mainClass=com.task.bot.load.IdleConnectionsTest \
+        -Dexec.args="--pid=$SERVER --connections=$CONNECTIONS --duration=$DURATION"
+    kill $SERVER
+    wait $SERVER || true
+  done
+done
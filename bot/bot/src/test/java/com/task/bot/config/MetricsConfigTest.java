@@ -0,0 +1,27 @@
+package com.task.bot.config;
+
+import com.task.bot.service.AuctionSessions;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+public class MetricsConfigTest {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private AuctionSessions sessions;
+
+    @Test
+    public void bidderMetricsTest() {
+        sessions.init("metrics", 4, 10);
+        sessions.round("metrics", sessions.placeBid("metrics"), 5);
+        assert (registry.get("bidder.auctions.active").gauge().value() >= 1);
+        assert (registry.get("bidder.rounds").functionCounter().count() >= 1);
+        assert (registry.get("bidder.decisions").tag("decision", "planned").functionCounter().count() >= 1);
+        assert (registry.get("bidder.decisions").tag("decision", "zero").functionCounter() != null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.task.bot.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+public class ReactiveWebConfigTest {
+
+    @Autowired
+    private WebServerApplicationContext context;
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    public void placeBidOnNettyTest() {
+        assert (context.getWebServer() instanceof NettyWebServer);
+        client.put().uri("/api/init?quantity=2&cash=10").exchange().expectStatus().isOk();
+        client.get().uri("/api/placeBid").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.bid").isEqualTo(10);
+        client.put().uri("/api/auctions/a/init?quantity=2&cash=10").exchange().expectStatus().isOk();
+        client.get().uri("/api/auctions/a/placeBid").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.bid").isEqualTo(10);
+        client.get().uri("/api/auctions/b/placeBid").exchange().expectStatus().isNotFound();
+    }
+}
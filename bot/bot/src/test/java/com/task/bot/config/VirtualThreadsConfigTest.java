@@ -0,0 +1,57 @@
+package com.task.bot.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "bidder.web.virtual-threads=true")
+public class VirtualThreadsConfigTest {
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Test
+    public void placeBidOnVirtualThreadTest() {
+        rest.put("/api/init?quantity=2&cash=10", null);
+        ResponseEntity<JsonNode> response = rest.getForEntity("/api/placeBid", JsonNode.class);
+        assert (response.getStatusCode() == HttpStatus.OK);
+        assert (response.getBody() != null && response.getBody().path("bid").asInt() == 10);
+    }
+
+    @Test
+    public void requestThreadTest() {
+        ResponseEntity<Boolean> response = rest.getForEntity("/test/virtual-thread", Boolean.class);
+        assert (response.getStatusCode() == HttpStatus.OK);
+        assert (Boolean.TRUE.equals(response.getBody()));
+    }
+
+    @TestConfiguration
+    static class ThreadProbeConfig {
+
+        @Bean
+        public ThreadProbe threadProbe() {
+            return new ThreadProbe();
+        }
+    }
+
+    /**
+     * Tells whether the request is handled by a virtual thread.
+     */
+    @RestController
+    static class ThreadProbe {
+
+        @GetMapping("/test/virtual-thread")
+        public boolean virtualThread() {
+            return Thread.currentThread().isVirtual();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.task.bot.controller;
+
+import com.task.bot.exception.AuctionNotFoundException;
+import com.task.bot.exception.UnknownStrategyException;
+import com.task.bot.service.AuctionSessions;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static java.lang.String.valueOf;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.only;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AuctionController.class)
+public class AuctionControllerTest {
+
+    private static final String AUCTION_ID = "a-1";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private AuctionSessions sessions;
+
+    @Test
+    public void initTest() throws Exception {
+        int quantity = 10;
+        int cash = 20;
+        mvc.perform(put("/api/auctions/{id}/init", AUCTION_ID)
+                        .param("quantity", valueOf(quantity))
+                        .param("cash", valueOf(cash)))
+                .andExpect(status().isOk());
+        verify(sessions, only()).init(AUCTION_ID, null, null, quantity, cash);
+    }
+
+    @Test
+    public void initWithStrategyTest() throws Exception {
+        mvc.perform(put("/api/auctions/{id}/init", AUCTION_ID)
+                        .param("quantity", "10")
+                        .param("cash", "20")
+                        .param("strategy", "dp-even"))
+                .andExpect(status().isOk());
+        verify(sessions, only()).init(AUCTION_ID, "dp-even", null, 10, 20);
+    }
+
+    @Test
+    public void initWithOpponentTest() throws Exception {
+        mvc.perform(put("/api/auctions/{id}/init", AUCTION_ID)
+                        .param("quantity", "10")
+                        .param("cash", "20")
+                        .param("opponent", "team-1"))
+                .andExpect(status().isOk());
+        verify(sessions, only()).init(AUCTION_ID, null, "team-1", 10, 20);
+    }
+
+    @Test
+    public void unknownStrategyTest() throws Exception {
+        doThrow(new UnknownStrategyException("x")).when(sessions).init(AUCTION_ID, "x", null, 10, 20);
+        mvc.perform(put("/api/auctions/{id}/init", AUCTION_ID)
+                        .param("quantity", "10")
+                        .param("cash", "20")
+                        .param("strategy", "x"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void strategiesTest() throws Exception {
+        when(sessions.strategies()).thenReturn(new LinkedHashSet<>(List.of("heuristic", "dp-even")));
+        mvc.perform(get("/api/auctions/strategies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]", is("heuristic")))
+                .andExpect(jsonPath("$[1]", is("dp-even")));
+    }
+
+    @Test
+    public void placeBidTest() throws Exception {
+        int bid = 10;
+        when(sessions.placeBid(AUCTION_ID)).thenReturn(bid);
+        mvc.perform(get("/api/auctions/{id}/placeBid", AUCTION_ID)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bid", is(bid)));
+        verify(sessions, only()).placeBid(AUCTION_ID);
+    }
+
+    @Test
+    public void showBidTest() throws Exception {
+        int own = 5;
+        int other = 6;
+        mvc.perform(post("/api/auctions/{id}/bids", AUCTION_ID)
+                        .param("own", valueOf(own))
+                        .param("other", valueOf(other)))
+                .andExpect(status().isOk());
+        verify(sessions, only()).bids(AUCTION_ID, own, other);
+    }
+
+    @Test
+    public void removeTest() throws Exception {
+        mvc.perform(delete("/api/auctions/{id}", AUCTION_ID))
+                .andExpect(status().isOk());
+        verify(sessions, only()).remove(AUCTION_ID);
+    }
+
+    @Test
+    public void unknownAuctionTest() throws Exception {
+        when(sessions.placeBid(AUCTION_ID)).thenThrow(new AuctionNotFoundException(AUCTION_ID));
+        mvc.perform(get("/api/auctions/{id}/placeBid", AUCTION_ID))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void roundTest() throws Exception {
+        when(sessions.round(AUCTION_ID, 5, 6)).thenReturn(7);
+        mvc.perform(post("/api/auctions/{id}/round", AUCTION_ID)
+                        .param("own", "5")
+                        .param("other", "6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bid", is(7)));
+        verify(sessions, only()).round(AUCTION_ID, 5, 6);
+    }
+
+    @Test
+    public void roundsTest() throws Exception {
+        when(sessions.round("a", 1, 2)).thenReturn(3);
+        when(sessions.round("b", 4, 5)).thenReturn(6);
+        mvc.perform(post("/api/auctions/rounds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"auctionId\":\"a\",\"own\":1,\"other\":2},{\"auctionId\":\"b\",\"own\":4,\"other\":5}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].auctionId", is("a")))
+                .andExpect(jsonPath("$[0].bid", is(3)))
+                .andExpect(jsonPath("$[1].auctionId", is("b")))
+                .andExpect(jsonPath("$[1].bid", is(6)));
+        InOrder inOrder = inOrder(sessions);
+        inOrder.verify(sessions).round("a", 1, 2);
+        inOrder.verify(sessions).round("b", 4, 5);
+    }
+
+    @Test
+    public void roundsWithUnknownAuctionTest() throws Exception {
+        when(sessions.round("a", 1, 2)).thenReturn(3);
+        when(sessions.round("b", 4, 5)).thenThrow(new AuctionNotFoundException("b"));
+        when(sessions.round("c", 7, 8)).thenReturn(9);
+        mvc.perform(post("/api/auctions/rounds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"auctionId\":\"a\",\"own\":1,\"other\":2},{\"auctionId\":\"b\",\"own\":4,\"other\":5},"
+                                + "{\"auctionId\":\"c\",\"own\":7,\"other\":8}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bid", is(3)))
+                .andExpect(jsonPath("$[1].auctionId", is("b")))
+                .andExpect(jsonPath("$[1].bid").doesNotExist())
+                .andExpect(jsonPath("$[1].error").exists())
+                .andExpect(jsonPath("$[2].bid", is(9)))
+                .andExpect(jsonPath("$[2].error").doesNotExist());
+        verify(sessions).round("c", 7, 8);
+    }
+}
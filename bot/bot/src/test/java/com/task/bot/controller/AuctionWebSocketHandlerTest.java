@@ -0,0 +1,54 @@
+package com.task.bot.controller;
+
+import com.task.bot.service.impl.AuctionSessionsImpl;
+import com.task.bot.service.impl.BidderStats;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class AuctionWebSocketHandlerTest {
+
+    private final AuctionWebSocketHandler handler = new AuctionWebSocketHandler(new AuctionSessionsImpl(new BidderStats()));
+    private final WebSocketSession session = mock(WebSocketSession.class);
+
+    @Test
+    public void auctionTest() throws Exception {
+        assert (exchange("I a 2 10").equals("OK a"));
+        assert (exchange("P a").equals("B a 10"));
+        assert (exchange("R a 10 9").equals("B a 0"));
+        assert (exchange("D a").equals("OK a"));
+    }
+
+    @Test
+    public void strategyTest() throws Exception {
+        assert (exchange("I a 2 10 heuristic\nP a").equals("OK a\nB a 10"));
+        assert (exchange("I b 2 10 - team-1\nP b").equals("OK b\nB b 10"));
+    }
+
+    @Test
+    public void manyCommandsInFrameTest() throws Exception {
+        assert (exchange("I a 2 10\nI b 4 10\r\nP a\nS b 5 6\nP b").equals("OK a\nOK b\nB a 10\nOK b\nB b 5"));
+    }
+
+    @Test
+    public void errorsTest() throws Exception {
+        assert (exchange("P unknown").equals("E unknown Auction unknown is not initialized"));
+        assert (exchange("I a 2\nI a 2 -1\nX a").equals("E a Malformed command\n"
+                + "E a Initial amount of monetary units can not be less than 0\nE a Unknown command X"));
+        assert (exchange("R a x 1").startsWith("E a "));
+        assert (exchange("I a 2 10 unknown").equals("E a Strategy unknown is not registered"));
+    }
+
+    private String exchange(String frame) throws Exception {
+        handler.handleMessage(session, new TextMessage(frame));
+        ArgumentCaptor<TextMessage> reply = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session).sendMessage(reply.capture());
+        clearInvocations(session);
+        return reply.getValue().getPayload();
+    }
+}
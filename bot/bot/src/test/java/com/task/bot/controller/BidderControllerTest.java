@@ -36,7 +36,7 @@ public class BidderControllerTest {
                 .param("quantity", valueOf(quantity))
                 .param("cash", valueOf(cash)))
                 .andExpect(status().isOk());
-        verify(service, only()).init(quantity, cash);
+        verify(service, only()).init(quantity, cash, null);
     }
 
     @Test
@@ -62,4 +62,18 @@ public class BidderControllerTest {
                 .andExpect(status().isOk());
         verify(service, only()).bids(own, other);
     }
+
+    @Test
+    public void roundTest() throws Exception {
+        int own = 5;
+        int other = 6;
+        int bid = 7;
+        when(service.round(own, other)).thenReturn(bid);
+        mvc.perform(post("/api/round")
+                        .param("own", valueOf(own))
+                        .param("other", valueOf(other)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bid", is(bid)));
+        verify(service, only()).round(own, other);
+    }
 }
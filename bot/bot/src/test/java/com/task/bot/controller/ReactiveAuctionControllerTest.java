@@ -0,0 +1,127 @@
+package com.task.bot.controller;
+
+import com.task.bot.exception.AuctionNotFoundException;
+import com.task.bot.exception.UnknownStrategyException;
+import com.task.bot.service.AuctionSessions;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.only;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveAuctionController.class,
+        properties = "spring.main.web-application-type=reactive")
+public class ReactiveAuctionControllerTest {
+
+    private static final String AUCTION_ID = "a-1";
+
+    @Autowired
+    private WebTestClient client;
+
+    @MockBean
+    private AuctionSessions sessions;
+
+    @Test
+    public void initTest() {
+        client.put().uri("/api/auctions/{id}/init?quantity=10&cash=20&strategy=dp-even&opponent=team-1", AUCTION_ID)
+                .exchange()
+                .expectStatus().isOk();
+        verify(sessions, only()).init(AUCTION_ID, "dp-even", "team-1", 10, 20);
+    }
+
+    @Test
+    public void unknownStrategyTest() {
+        doThrow(new UnknownStrategyException("x")).when(sessions).init(AUCTION_ID, "x", null, 10, 20);
+        client.put().uri("/api/auctions/{id}/init?quantity=10&cash=20&strategy=x", AUCTION_ID)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void placeBidOffEventLoopTest() {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        when(sessions.placeBid(AUCTION_ID)).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread());
+            return 10;
+        });
+        client.get().uri("/api/auctions/{id}/placeBid", AUCTION_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.bid").isEqualTo(10);
+        assert (thread.get().getName().startsWith("boundedElastic"));
+    }
+
+    @Test
+    public void showBidTest() {
+        client.post().uri("/api/auctions/{id}/bids?own=5&other=6", AUCTION_ID)
+                .exchange()
+                .expectStatus().isOk();
+        verify(sessions, only()).bids(AUCTION_ID, 5, 6);
+    }
+
+    @Test
+    public void removeTest() {
+        client.delete().uri("/api/auctions/{id}", AUCTION_ID)
+                .exchange()
+                .expectStatus().isOk();
+        verify(sessions, only()).remove(AUCTION_ID);
+    }
+
+    @Test
+    public void unknownAuctionTest() {
+        when(sessions.round(AUCTION_ID, 5, 6)).thenThrow(new AuctionNotFoundException(AUCTION_ID));
+        client.post().uri("/api/auctions/{id}/round?own=5&other=6", AUCTION_ID)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void roundsTest() {
+        when(sessions.round("a", 1, 2)).thenReturn(3);
+        when(sessions.round("b", 4, 5)).thenReturn(6);
+        client.post().uri("/api/auctions/rounds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"auctionId\":\"a\",\"own\":1,\"other\":2},{\"auctionId\":\"b\",\"own\":4,\"other\":5}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].auctionId").isEqualTo("a")
+                .jsonPath("$[0].bid").isEqualTo(3)
+                .jsonPath("$[1].auctionId").isEqualTo("b")
+                .jsonPath("$[1].bid").isEqualTo(6);
+        InOrder inOrder = inOrder(sessions);
+        inOrder.verify(sessions).round("a", 1, 2);
+        inOrder.verify(sessions).round("b", 4, 5);
+    }
+
+    @Test
+    public void roundsWithUnknownAuctionTest() {
+        when(sessions.round("a", 1, 2)).thenReturn(3);
+        when(sessions.round("b", 4, 5)).thenThrow(new AuctionNotFoundException("b"));
+        when(sessions.round("c", 7, 8)).thenReturn(9);
+        client.post().uri("/api/auctions/rounds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"auctionId\":\"a\",\"own\":1,\"other\":2},{\"auctionId\":\"b\",\"own\":4,\"other\":5},"
+                        + "{\"auctionId\":\"c\",\"own\":7,\"other\":8}]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].bid").isEqualTo(3)
+                .jsonPath("$[1].auctionId").isEqualTo("b")
+                .jsonPath("$[1].bid").doesNotExist()
+                .jsonPath("$[1].error").exists()
+                .jsonPath("$[2].bid").isEqualTo(9)
+                .jsonPath("$[2].error").doesNotExist();
+        verify(sessions).round("c", 7, 8);
+    }
+}
@@ -0,0 +1,77 @@
+package com.task.bot.controller;
+
+import com.task.bot.service.Bidder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Mockito.only;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = ReactiveBidderController.class,
+        properties = "spring.main.web-application-type=reactive")
+public class ReactiveBidderControllerTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @MockBean
+    private Bidder service;
+
+    @Test
+    public void initTest() {
+        client.put().uri("/api/init?quantity=10&cash=20&opponent=team-1")
+                .exchange()
+                .expectStatus().isOk();
+        verify(service, only()).init(10, 20, "team-1");
+    }
+
+    @Test
+    public void placeBidTest() {
+        int bid = 10;
+        when(service.placeBid()).thenReturn(bid);
+        client.get().uri("/api/placeBid")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.bid").isEqualTo(bid);
+        verify(service, only()).placeBid();
+    }
+
+    @Test
+    public void showBidTest() {
+        client.post().uri("/api/bids?own=5&other=6")
+                .exchange()
+                .expectStatus().isOk();
+        verify(service, only()).bids(5, 6);
+    }
+
+    @Test
+    public void roundTest() {
+        int bid = 7;
+        when(service.round(5, 6)).thenReturn(bid);
+        client.post().uri("/api/round?own=5&other=6")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.bid").isEqualTo(bid);
+        verify(service, only()).round(5, 6);
+    }
+
+    @Test
+    public void placeBidOffEventLoopTest() {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        when(service.placeBid()).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread());
+            return 10;
+        });
+        client.get().uri("/api/placeBid")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.bid").isEqualTo(10);
+        assert (thread.get().getName().startsWith("boundedElastic"));
+    }
+}
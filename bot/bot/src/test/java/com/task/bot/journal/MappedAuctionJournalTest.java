@@ -0,0 +1,392 @@
+package com.task.bot.journal;
+
+import com.task.bot.exception.AuctionNotFoundException;
+import com.task.bot.service.AuctionSessions;
+import com.task.bot.service.Bidder;
+import com.task.bot.service.BidderStrategy;
+import com.task.bot.service.impl.AuctionSessionsImpl;
+import com.task.bot.service.impl.BidTables;
+import com.task.bot.service.impl.BidderImpl;
+import com.task.bot.service.impl.BidderStats;
+import com.task.bot.service.impl.DpBidder;
+import com.task.bot.service.impl.MonteCarloBidder;
+import com.task.bot.service.impl.OpponentModel;
+import com.task.bot.service.impl.StrategyRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+public class MappedAuctionJournalTest {
+
+    private static final int SEGMENT_SIZE = 1 << 16;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    public void replayTest() {
+        try (AuctionJournal journal = open(SEGMENT_SIZE)) {
+            journal.init("a", null, null, 10, 100);
+            journal.init("b", "dp-even", null, 20, 200);
+            journal.init("c", null, "team-1", 30, 300);
+            journal.init("d", "heuristic", "team-2", 40, 400);
+            journal.placeBid("a");
+            journal.bids("a", 12, 7);
+            journal.round("аукцион", 3, 4);
+            journal.remove("a");
+        }
+        assert (replay(open(SEGMENT_SIZE)).equals(List.of("init a null null 10 100", "init b dp-even null 20 200",
+                "init c null team-1 30 300", "init d heuristic team-2 40 400", "placeBid a",
+                "bids a 12 7", "round аукцион 3 4", "remove a")));
+    }
+
+    @Test
+    public void appendAfterReopenTest() {
+        try (AuctionJournal journal = open(SEGMENT_SIZE)) {
+            journal.init("a", null, null, 10, 100);
+        }
+        try (AuctionJournal journal = open(SEGMENT_SIZE)) {
+            journal.bids("a", 1, 2);
+        }
+        assert (replay(open(SEGMENT_SIZE)).equals(List.of("init a null null 10 100", "bids a 1 2")));
+    }
+
+    @Test
+    public void segmentsTest() throws IOException {
+        List<String> events = new ArrayList<>();
+        try (AuctionJournal journal = open(64)) {
+            for (int i = 0; i < 100; i++) {
+                journal.bids("a" + i, i, -i);
+                events.add("bids a" + i + " " + i + " " + -i);
+            }
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assert (files.count() > 10);
+        }
+        assert (replay(open(64)).equals(events));
+    }
+
+    @Test
+    public void stripesTest() throws IOException {
+        List<String> events = new ArrayList<>();
+        try (AuctionJournal journal = new MappedAuctionJournal(dir, 256, Duration.ofMillis(10), 4)) {
+            for (int i = 0; i < 20; i++) {
+                journal.init("a" + i, null, null, 10, 100);
+                events.add("init a" + i + " null null 10 100");
+            }
+            for (int round = 0; round < 10; round++)
+                for (int i = 0; i < 20; i++) {
+                    journal.bids("a" + i, round, i);
+                    events.add("bids a" + i + " " + round + " " + i);
+                }
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assert (files.map(path -> path.getFileName().toString()).sorted().toList()
+                    .equals(List.of("stripe-00", "stripe-01", "stripe-02", "stripe-03")));
+        }
+        List<String> replayed = replay(new MappedAuctionJournal(dir, 256, Duration.ofMillis(10), 1));
+        assert (replayed.size() == events.size() && replayed.containsAll(events));
+        for (int i = 0; i < 20; i++) {
+            String auction = " a" + i + " ";
+            assert (events.stream().filter(event -> event.contains(auction)).toList()
+                    .equals(replayed.stream().filter(event -> event.contains(auction)).toList()));
+        }
+    }
+
+    @Test
+    public void tornRecordTest() throws IOException {
+        try (AuctionJournal journal = open(SEGMENT_SIZE)) {
+            journal.init("a", null, null, 10, 100);
+            journal.bids("a", 1, 2);
+        }
+        Path segment = dir.resolve("journal-0000000000.log");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0}), 17);
+        }
+        try (AuctionJournal journal = open(SEGMENT_SIZE)) {
+            journal.bids("a", 3, 4);
+        }
+        assert (replay(open(SEGMENT_SIZE)).equals(List.of("init a null null 10 100", "bids a 3 4")));
+    }
+
+    @Test
+    public void damagedRecordTest() throws IOException {
+        try (AuctionJournal journal = open(SEGMENT_SIZE)) {
+            journal.init("a", null, null, 10, 100);
+            journal.bids("a", 1, 2);
+            journal.bids("a", 3, 4);
+        }
+        Path segment = dir.resolve("journal-0000000000.log");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{9}), 17 + 5);
+        }
+        assert (replay(open(SEGMENT_SIZE)).equals(List.of("init a null null 10 100")));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{99}), 17);
+        }
+        try (AuctionJournal journal = open(SEGMENT_SIZE)) {
+            journal.bids("a", 5, 6);
+        }
+        assert (replay(open(SEGMENT_SIZE)).equals(List.of("init a null null 10 100", "bids a 5 6")));
+    }
+
+    @Test
+    public void damagedSegmentEndsJournalTest() throws IOException {
+        try (AuctionJournal journal = open(64)) {
+            for (int i = 0; i < 20; i++)
+                journal.bids("a", i, i);
+        }
+        Path first = dir.resolve("journal-0000000000.log");
+        try (FileChannel channel = FileChannel.open(first, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{9}), 17 + 5);
+        }
+        try (AuctionJournal journal = open(64)) {
+            journal.bids("a", 100, 100);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assert (files.count() == 1);
+        }
+        assert (replay(open(64)).equals(List.of("bids a 0 0", "bids a 100 100")));
+    }
+
+    @Test
+    public void staleBytesAfterTornRecordTest() throws IOException {
+        int segmentSize = 1 << 20;
+        try (AuctionJournal journal = open(segmentSize)) {
+            journal.init("a".repeat(28), null, null, 10, 2_000_000_000);
+        }
+        Path segment = dir.resolve("journal-0000000000.log");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0}), 0);
+        }
+        try (AuctionJournal journal = open(segmentSize)) {
+            journal.remove("b".repeat(26));
+        }
+        assert (replay(open(segmentSize)).equals(List.of("remove " + "b".repeat(26))));
+    }
+
+    @Test
+    public void compactionTest() throws IOException {
+        try (AuctionJournal journal = open(64)) {
+            journal.replay(AuctionJournal.NONE);
+            for (int i = 0; i < 50; i++) {
+                journal.init("a" + i, null, null, 2, 10);
+                journal.bids("a" + i, 5, 5);
+                journal.remove("a" + i);
+            }
+            journal.init("again", null, null, 10, 100);
+            for (int i = 0; i < 50; i++)
+                journal.bids("again", i, i);
+            journal.init("again", null, null, 20, 200);
+            journal.bids("again", 1, 2);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assert (files.count() <= 2);
+        }
+        List<String> events = replay(open(64));
+        assert (events.indexOf("init again null null 20 200") >= 0);
+        assert (events.indexOf("bids again 1 2") == events.indexOf("init again null null 20 200") + 1);
+        assert (events.stream().noneMatch(event -> event.startsWith("init a")
+                && !event.equals("init again null null 20 200")));
+
+        try (AuctionJournal journal = open(64)) {
+            journal.replay(AuctionJournal.NONE);
+            journal.remove("again");
+            for (int i = 0; i < 10; i++)
+                journal.bids("closed", i, i);
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            assert (files.count() == 1);
+        }
+    }
+
+    @Test
+    public void openAuctionKeepsSegmentsTest() {
+        List<String> events = new ArrayList<>();
+        try (AuctionJournal journal = open(64)) {
+            journal.replay(AuctionJournal.NONE);
+            journal.init("open", null, null, 10, 100);
+            events.add("init open null null 10 100");
+            for (int i = 0; i < 50; i++) {
+                journal.bids("open", i, i);
+                events.add("bids open " + i + " " + i);
+            }
+        }
+        assert (replay(open(64)).equals(events));
+    }
+
+    @Test
+    public void concurrentRemoveRecoveryTest() throws Exception {
+        AuctionJournal journal = open(SEGMENT_SIZE);
+        AuctionSessions sessions = new AuctionSessionsImpl(new BidderStats(), journal);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                calls.add(executor.submit(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        if ((i + thread) % 2 == 0) {
+                            sessions.init("a", 2, 10);
+                        } else {
+                            try {
+                                sessions.remove("a");
+                            } catch (AuctionNotFoundException e) {
+                                // removed by another thread
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> call : calls)
+                call.get();
+        } finally {
+            executor.shutdown();
+        }
+        journal.flush();
+        AuctionSessions recovered = new AuctionSessionsImpl(new BidderStats(), open(SEGMENT_SIZE));
+        assert (recovered.size() == sessions.size());
+    }
+
+    @Test
+    public void recoveryTest() {
+        AuctionJournal journal = open(SEGMENT_SIZE);
+        AuctionSessions sessions = new AuctionSessionsImpl(new BidderStats(), journal);
+        sessions.init("a", 200, 1000);
+        sessions.init("b", 100, 500);
+        sessions.init("c", 10, 10);
+        sessions.remove("c");
+        int own = sessions.placeBid("a");
+        for (int round = 0; round < 50; round++) {
+            own = sessions.round("a", own, round * 7 % 31);
+            int bid = sessions.placeBid("b");
+            sessions.bids("b", bid, round % 5 * 20);
+        }
+        journal.flush();
+
+        AuctionSessions recovered = new AuctionSessionsImpl(new BidderStats(), open(SEGMENT_SIZE));
+        assert (recovered.size() == 2);
+        for (int round = 50; round < 100; round++) {
+            int other = round * 7 % 31;
+            int next = sessions.round("a", own, other);
+            assert (recovered.round("a", own, other) == next);
+            own = next;
+            assert (recovered.placeBid("b") == sessions.placeBid("b"));
+        }
+    }
+
+    @Test
+    public void strategyRecoveryTest() {
+        BidTables tables = new BidTables(OpponentModel.EVEN, 1 << 20, 1 << 20, null);
+        StrategyRegistry strategies = new StrategyRegistry(List.of(BidderStrategy.of("heuristic", BidderImpl::new),
+                BidderStrategy.of("dp-even", () -> new DpBidder(tables, new BidderImpl()))), "heuristic");
+        AuctionJournal journal = open(SEGMENT_SIZE);
+        AuctionSessions sessions = new AuctionSessionsImpl(strategies, journal);
+        sessions.init("a", "dp-even", 20, 100);
+        sessions.bids("a", sessions.placeBid("a"), 10);
+        journal.flush();
+
+        AuctionSessions recovered = new AuctionSessionsImpl(strategies, open(SEGMENT_SIZE));
+        Bidder expected = new DpBidder(tables, new BidderImpl());
+        expected.init(20, 100);
+        expected.bids(expected.placeBid(), 10);
+        for (int round = 1; round < 10; round++) {
+            int bid = expected.placeBid();
+            assert (recovered.placeBid("a") == bid);
+            expected.bids(bid, 10);
+            recovered.bids("a", bid, 10);
+        }
+    }
+
+    @Test
+    public void repeatedBidRecoveryTest() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            StrategyRegistry strategies = new StrategyRegistry(List.of(BidderStrategy.of("monte-carlo",
+                    () -> new MonteCarloBidder(pool, 0, 1, new BidderImpl()))), "monte-carlo");
+            AuctionJournal journal = open(SEGMENT_SIZE);
+            AuctionSessions sessions = new AuctionSessionsImpl(strategies, journal);
+            sessions.init("a", 8, 100);
+            sessions.bids("a", sessions.placeBid("a"), 40);
+            sessions.placeBid("a");
+            sessions.bids("a", sessions.placeBid("a"), 40);
+            journal.flush();
+
+            AuctionSessions recovered = new AuctionSessionsImpl(strategies, open(SEGMENT_SIZE));
+            for (int round = 2; round < 4; round++) {
+                int bid = sessions.placeBid("a");
+                assert (recovered.placeBid("a") == bid);
+                sessions.bids("a", bid, 40);
+                recovered.bids("a", bid, 40);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void journaledBidderTest() {
+        Bidder bidder = new JournaledBidder(new BidderImpl(), open(SEGMENT_SIZE));
+        bidder.init(20, 100);
+        for (int round = 0; round < 5; round++)
+            bidder.bids(bidder.placeBid(), 15);
+        Bidder recovered = new JournaledBidder(new BidderImpl(), open(SEGMENT_SIZE));
+        for (int round = 5; round < 10; round++) {
+            int bid = bidder.placeBid();
+            assert (recovered.placeBid() == bid);
+            bidder.bids(bid, 15);
+            recovered.bids(bid, 15);
+        }
+    }
+
+    private AuctionJournal open(int segmentSize) {
+        return new MappedAuctionJournal(dir, segmentSize, Duration.ofMillis(10));
+    }
+
+    private static List<String> replay(AuctionJournal journal) {
+        List<String> events = new ArrayList<>();
+        journal.replay(new AuctionEvents() {
+
+            @Override
+            public void init(String auctionId, String strategy, String opponentId, int quantity, int cash) {
+                events.add("init " + auctionId + " " + strategy + " " + opponentId + " " + quantity + " " + cash);
+            }
+
+            @Override
+            public void placeBid(String auctionId) {
+                events.add("placeBid " + auctionId);
+            }
+
+            @Override
+            public void bids(String auctionId, int own, int other) {
+                events.add("bids " + auctionId + " " + own + " " + other);
+            }
+
+            @Override
+            public void round(String auctionId, int own, int other) {
+                events.add("round " + auctionId + " " + own + " " + other);
+            }
+
+            @Override
+            public void remove(String auctionId) {
+                events.add("remove " + auctionId);
+            }
+        });
+        journal.close();
+        return events;
+    }
+}
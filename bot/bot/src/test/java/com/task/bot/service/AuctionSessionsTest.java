@@ -0,0 +1,172 @@
+package com.task.bot.service;
+
+import com.task.bot.exception.AuctionNotFoundException;
+import com.task.bot.exception.UnknownStrategyException;
+import com.task.bot.journal.AuctionJournal;
+import com.task.bot.service.impl.AuctionSessionsImpl;
+import com.task.bot.service.impl.BidTables;
+import com.task.bot.service.impl.BidderStats;
+import com.task.bot.service.impl.BidderImpl;
+import com.task.bot.service.impl.DpBidder;
+import com.task.bot.service.impl.MonteCarloBidder;
+import com.task.bot.service.impl.OpponentModel;
+import com.task.bot.service.impl.StrategyRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AuctionSessionsTest {
+
+    private final AuctionSessions sessions = new AuctionSessionsImpl(new BidderStats());
+
+    @Test
+    public void unknownAuctionTest() {
+        assertThrows(AuctionNotFoundException.class, () -> sessions.placeBid("unknown"));
+        assertThrows(AuctionNotFoundException.class, () -> sessions.bids("unknown", 1, 1));
+        assertThrows(AuctionNotFoundException.class, () -> sessions.remove("unknown"));
+    }
+
+    @Test
+    public void removeTest() {
+        sessions.init("a", 2, 10);
+        assert (sessions.size() == 1);
+        sessions.remove("a");
+        assert (sessions.size() == 0);
+        assertThrows(AuctionNotFoundException.class, () -> sessions.placeBid("a"));
+    }
+
+    @Test
+    public void independentAuctionsTest() {
+        sessions.init("a", 2, 10);
+        sessions.init("b", 2, 20);
+        sessions.bids("a", sessions.placeBid("a"), 10);
+        assert (sessions.placeBid("a") == 0);
+        assert (sessions.placeBid("b") == 20);
+    }
+
+    @Test
+    public void reInitTest() {
+        int cash = 10;
+        sessions.init("a", 2, cash);
+        sessions.bids("a", sessions.placeBid("a"), cash);
+        sessions.init("a", 2, cash);
+        assert (sessions.placeBid("a") == cash);
+    }
+
+    @Test
+    public void reInitEveryStrategyTest() {
+        BidTables tables = new BidTables(OpponentModel.EVEN, 1 << 20, 1 << 20, null);
+        List<String> names = List.of("heuristic", "dp-even", "monte-carlo");
+        StrategyRegistry strategies = new StrategyRegistry(List.of(BidderStrategy.of(names.get(0), BidderImpl::new),
+                BidderStrategy.of(names.get(1), () -> new DpBidder(tables, new BidderImpl())),
+                BidderStrategy.of(names.get(2), () -> new MonteCarloBidder(ForkJoinPool.commonPool(), 0, 16,
+                        new BidderImpl()))), names.get(0));
+        AuctionSessions sessions = new AuctionSessionsImpl(strategies, AuctionJournal.NONE);
+        for (String name : names) {
+            sessions.init("a", name, 6, 15);
+            List<Integer> first = play(sessions, "a");
+            sessions.init("a", name, 6, 15);
+            sessions.init("b", name, 6, 15);
+            assert (play(sessions, "a").equals(first));
+            assert (play(sessions, "b").equals(first));
+            assert (first.stream().anyMatch(bid -> bid > 0));
+        }
+    }
+
+    /**
+     * @return own bids of the auction against the opponent bidding 1, 2 and 3
+     */
+    private static List<Integer> play(AuctionSessions sessions, String auctionId) {
+        List<Integer> bids = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            int bid = sessions.placeBid(auctionId);
+            bids.add(bid);
+            sessions.bids(auctionId, bid, round + 1);
+        }
+        return bids;
+    }
+
+    @Test
+    public void roundTest() {
+        Bidder expected = new BidderImpl();
+        expected.init(6, 15);
+        sessions.init("a", 6, 15);
+        int bid = sessions.placeBid("a");
+        assert (bid == expected.placeBid());
+        expected.bids(bid, 8);
+        assert (sessions.round("a", bid, 8) == expected.placeBid());
+    }
+
+    @Test
+    public void concurrentAuctionsTest() throws Exception {
+        int auctions = 200;
+        List<Integer> otherBids = List.of(3, 3, 4, 4, 5, 5, 5, 4, 4, 3);
+        Bidder expected = new BidderImpl();
+        expected.init(20, 40);
+        int[] expectedBids = new int[otherBids.size()];
+        for (int round = 0; round < otherBids.size(); round++) {
+            expectedBids[round] = expected.placeBid();
+            expected.bids(expectedBids[round], otherBids.get(round));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = IntStream.range(0, auctions)
+                    .mapToObj(i -> executor.submit(() -> {
+                        String id = "auction-" + i;
+                        sessions.init(id, 20, 40);
+                        for (int round = 0; round < otherBids.size(); round++) {
+                            int bid = sessions.placeBid(id);
+                            if (bid != expectedBids[round])
+                                return false;
+                            sessions.bids(id, bid, otherBids.get(round));
+                        }
+                        return true;
+                    }))
+                    .toList();
+            for (Future<Boolean> result : results)
+                assert (result.get());
+        } finally {
+            executor.shutdown();
+        }
+        assert (sessions.size() == auctions);
+    }
+
+    @Test
+    public void strategiesTest() {
+        BidderStrategy heuristic = BidderStrategy.of("heuristic", BidderImpl::new);
+        BidderStrategy constant = BidderStrategy.of("constant", () -> new Bidder() {
+            @Override
+            public void init(int quantity, int cash) {
+            }
+
+            @Override
+            public int placeBid() {
+                return 1;
+            }
+
+            @Override
+            public void bids(int own, int other) {
+            }
+        });
+        AuctionSessions sessions = new AuctionSessionsImpl(new StrategyRegistry(List.of(heuristic, constant),
+                "constant"), AuctionJournal.NONE);
+        sessions.init("a", 2, 10);
+        sessions.init("b", "heuristic", 2, 10);
+        assert (sessions.placeBid("a") == 1);
+        assert (sessions.placeBid("b") == 10);
+        sessions.init("a", "heuristic", 2, 20);
+        assert (sessions.placeBid("a") == 20);
+        assertThrows(UnknownStrategyException.class, () -> sessions.init("c", "unknown", 2, 10));
+        assert (sessions.strategies().equals(Set.of("heuristic", "constant")));
+        assert (sessions.size() == 2);
+    }
+}
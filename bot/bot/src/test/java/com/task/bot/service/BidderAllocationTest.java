@@ -0,0 +1,67 @@
+package com.task.bot.service;
+
+import com.task.bot.dto.BidDTO;
+import com.task.bot.service.impl.BidderImpl;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+public class BidderAllocationTest {
+
+    private static final int QUANTITY = 2_000_000;
+    private static final int CASH = 1_000_000_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private int unsharedBids;
+
+    @Test
+    public void roundDoesNotAllocateTest() {
+        Bidder bidder = new BidderImpl();
+        for (int i = 0; i < 5; i++)
+            playRounds(bidder, false);
+        long allocated = playRounds(bidder, false);
+        assert (allocated < QUANTITY / 2 / 100) : allocated + " bytes allocated for " + QUANTITY / 2 + " rounds";
+    }
+
+    /**
+     * Responses of bids up to 1023 are shared objects, every greater bid allocates its own response object.
+     */
+    @Test
+    public void responseAllocatesForUnsharedBidsOnlyTest() {
+        Bidder bidder = new BidderImpl();
+        for (int i = 0; i < 5; i++)
+            playRounds(bidder, true);
+        long allocated = playRounds(bidder, true);
+        assert (unsharedBids > 0 && unsharedBids < QUANTITY / 2);
+        assert (allocated < unsharedBids * 24L + QUANTITY / 2 / 100)
+                : allocated + " bytes allocated for " + unsharedBids + " unshared bids";
+    }
+
+    /**
+     * Plays a whole auction, where the other bidder bids around the own bid.
+     * @param responses whether every bid gets its response object
+     * @return bytes allocated by the rounds, initialization is not counted
+     */
+    private long playRounds(Bidder bidder, boolean responses) {
+        bidder.init(QUANTITY, CASH);
+        long start = threads.getCurrentThreadAllocatedBytes();
+        long sum = 0;
+        int unshared = 0;
+        for (int round = 0; round < QUANTITY / 2; round++) {
+            int bid = bidder.placeBid();
+            if (responses) {
+                BidDTO response = BidDTO.of(bid);
+                bid = response.getBid();
+                if (!BidDTO.isShared(bid))
+                    unshared++;
+            }
+            bidder.bids(bid, Math.max(bid + round % 3 - 1, 0));
+            sum += bid;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - start;
+        unsharedBids = unshared;
+        assert (sum >= 0);
+        return allocated;
+    }
+}
@@ -1,14 +1,19 @@
 package com.task.bot.service;
 
+import com.task.bot.service.impl.BidDecision;
 import com.task.bot.service.impl.BidderImpl;
+import com.task.bot.service.impl.BidderStats;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
 public class BidderTest {
 
     private final Bidder service = new BidderImpl();
@@ -48,6 +53,15 @@ public class BidderTest {
         assert (service.placeBid() == 0);
     }
 
+    @Test
+    public void reInitTest() {
+        int cash = 10;
+        service.init(2, cash);
+        service.bids(service.placeBid(), cash);
+        service.init(2, cash);
+        assert (service.placeBid() == cash);
+    }
+
     @Test
     public void bidChangeUnitTest() {
         int quantity = 6;
@@ -64,6 +78,22 @@ public class BidderTest {
         assert (thirdBid == firstBid - bidChangeUnit);
     }
 
+    @Test
+    public void decisionsTest() {
+        BidderStats stats = new BidderStats();
+        Bidder bidder = new BidderImpl(stats);
+        bidder.init(6, 15);
+        bidder.bids(bidder.placeBid(), 8);
+        bidder.bids(bidder.placeBid(), 5);
+        bidder.placeBid();
+        bidder.bids(3, 2);
+        bidder.placeBid();
+        assert (stats.rounds() == 3);
+        assert (stats.decisions(BidDecision.PLANNED) == 2);
+        assert (stats.decisions(BidDecision.MOVED_TO_CURRENT) == 1);
+        assert (stats.decisions(BidDecision.ZERO) == 1);
+    }
+
     @Test
     public void economicalBidTest() {
         int cash = 10;
@@ -89,6 +119,20 @@ public class BidderTest {
         assert (thirdBid == 0);
     }
 
+    @Test
+    public void initWithLargeCashTest() {
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> service.init(1000, 2_000_000_000));
+        assert (service.placeBid() == 4_000_000);
+    }
+
+    @Test
+    public void initWithHugeQuantityTest() {
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> service.init(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        int bid = service.placeBid();
+        service.bids(bid, bid + 1);
+        assert (bid == 2 && service.placeBid() == 3);
+    }
+
     @ParameterizedTest
     @MethodSource("provideBidsCases")
     public void testAgainstBids(int quantity, int cash, List<Integer> otherBids) {
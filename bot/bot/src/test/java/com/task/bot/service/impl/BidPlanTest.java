@@ -0,0 +1,98 @@
+package com.task.bot.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+public class BidPlanTest {
+
+    @Test
+    public void equalsUnitByUnitFillForSmallAuctionsTest() {
+        for (int quantity = 0; quantity <= 160; quantity++)
+            for (int cash = 0; cash <= 12 * quantity + 7; cash++)
+                assertSamePlan(quantity, cash);
+    }
+
+    @Test
+    public void equalsUnitByUnitFillForRandomAuctionsTest() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 300; i++) {
+            int quantity = random.nextInt(1, 20_000);
+            assertSamePlan(quantity, random.nextInt(0, 200 * quantity));
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({"2, 2000000000", "3, 2000000000", "1000, 2000000000", "200000001, 2147483647", "200000001, 7"})
+    public void largeCashPlanTest(int quantity, int cash) {
+        int rounds = quantity % 2 == 0 ? quantity / 2 : quantity / 2 + 1;
+        BidPlan plan = new BidPlan(quantity, rounds, cash);
+        long total = 0;
+        for (int round = 0; round < rounds; round++)
+            total += plan.get(round);
+        assert (total == cash);
+    }
+
+    @Test
+    public void changesTest() {
+        SplittableRandom random = new SplittableRandom(7);
+        BidPlan plan = new BidPlan();
+        for (int auction = 0; auction < 50; auction++) {
+            int quantity = random.nextInt(1, 5_000);
+            int cash = random.nextInt(0, 100_000);
+            int rounds = quantity % 2 == 0 ? quantity / 2 : quantity / 2 + 1;
+            plan.init(quantity, rounds, cash);
+            assert (plan.changedRounds() == 0);
+            int[] expected = new int[rounds];
+            new BidPlan(quantity, rounds, cash).fill(expected);
+            for (int i = 0; i < 2_000; i++) {
+                int round = random.nextInt(rounds);
+                int change = random.nextInt(-5, 6);
+                expected[round] += change;
+                plan.add(round, change);
+            }
+            int[] actual = new int[rounds];
+            plan.fill(actual);
+            assert Arrays.equals(expected, actual);
+            assert (plan.changedRounds() <= Math.min(rounds, 2_000));
+        }
+    }
+
+    private static void assertSamePlan(int quantity, int cash) {
+        int rounds = quantity % 2 == 0 ? quantity / 2 : quantity / 2 + 1;
+        int[] expected = unitByUnitFill(quantity, rounds, cash);
+        int[] actual = new int[rounds];
+        new BidPlan(quantity, rounds, cash).fill(actual);
+        assert Arrays.equals(expected, actual) : "quantity " + quantity + ", cash " + cash;
+    }
+
+    /**
+     * The original O(cash) filling of the rounds, kept as the reference for the closed form plan.
+     */
+    private static int[] unitByUnitFill(int quantity, int rounds, int cash) {
+        int[] plan = new int[rounds];
+        if (rounds == 0)
+            return plan;
+        if (quantity == 3) {
+            plan[0] = cash;
+            return plan;
+        }
+        int average = rounds < 2 ? rounds * cash : cash % rounds >= rounds / 2 ? cash / rounds + 1 : cash / rounds;
+        int position = 0;
+        while (cash > 0) {
+            if (plan[position] < average ||
+                    (position == plan.length - 1 && plan[position] == average) ||
+                    (position < plan.length - 1 && plan[position + 1] > average)) {
+                cash--;
+                plan[position] += 1;
+            }
+            position++;
+            if (position == plan.length)
+                position = 0;
+        }
+        return plan;
+    }
+}
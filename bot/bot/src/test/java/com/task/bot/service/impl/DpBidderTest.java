@@ -0,0 +1,165 @@
+package com.task.bot.service.impl;
+
+import com.task.bot.service.Bidder;
+import com.task.bot.simulation.Auction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DpBidderTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    public void optimalAgainstModelTest() {
+        for (OpponentModel model : OpponentModel.values()) {
+            BidTables tables = new BidTables(model, 1 << 20, 1 << 20, null);
+            Auction auction = new Auction();
+            for (int quantity = 0; quantity <= 7; quantity++) {
+                for (int cash = 0; cash <= 12; cash++) {
+                    auction.play(new DpBidder(tables, new BidderImpl()), new ModelBidder(model), quantity, cash);
+                    int rounds = quantity % 2 == 0 ? quantity / 2 : quantity / 2 + 1;
+                    int best = best(model, quantity, rounds, 0, cash, cash, 0);
+                    assert (auction.outcome() == best) : model + " " + quantity + " " + cash;
+                    assert (auction.getInvalidBids() == 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void cacheTest() {
+        BidTables tables = new BidTables(OpponentModel.EVEN, 2 * BidTable.cells(10, 100), 1 << 20, null);
+        BidTable table = tables.get(10, 100);
+        assert (tables.get(10, 100) == table);
+        tables.get(10, 99);
+        tables.get(10, 100);
+        tables.get(10, 98);
+        assert (tables.size() == 2);
+        assert (tables.get(10, 100) == table);
+        assert (tables.get(1000, 100_000) == null);
+        assert (tables.size() == 2);
+    }
+
+    @Test
+    public void savedTablesTest() throws IOException {
+        BidTable solved = new BidTables(OpponentModel.FRONT_LOADED, 1 << 20, 1 << 20, dir).get(20, 200);
+        try (Stream<Path> files = Files.list(dir)) {
+            assert (files.count() == 1);
+        }
+        BidTable loaded = new BidTables(OpponentModel.FRONT_LOADED, 1 << 20, 1 << 20, dir).get(20, 200);
+        assert (loaded != solved);
+        for (int round = 0; round < solved.rounds(); round++)
+            for (int cash = 0; cash <= 200; cash++)
+                for (int difference = -20; difference <= 20; difference++)
+                    assert (loaded.action(round, cash, difference) == solved.action(round, cash, difference));
+    }
+
+    @Test
+    public void fallbackTest() {
+        BidTables tables = new BidTables(OpponentModel.EVEN, 1 << 20, 1 << 20, null);
+        Bidder bidder = new DpBidder(tables, new BidderImpl());
+        Bidder heuristic = new BidderImpl();
+        bidder.init(2000, 1_000_000);
+        heuristic.init(2000, 1_000_000);
+        for (int round = 0; round < 100; round++) {
+            int bid = bidder.placeBid();
+            assert (bid == heuristic.placeBid());
+            bidder.bids(bid, 600);
+            heuristic.bids(bid, 600);
+        }
+        assert (tables.size() == 0);
+    }
+
+    @Test
+    public void negativeInitTest() {
+        Bidder bidder = new DpBidder(new BidTables(OpponentModel.EVEN, 1 << 20, 1 << 20, null), new BidderImpl());
+        assertThrows(IllegalArgumentException.class, () -> bidder.init(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> bidder.init(10, -1));
+    }
+
+    @Test
+    public void failedSolveTest() throws IOException {
+        Path file = Files.createFile(dir.resolve("file"));
+        BidTables tables = new BidTables(OpponentModel.EVEN, 1 << 20, 1 << 20, file);
+        assertThrows(UncheckedIOException.class, () -> tables.get(10, 100));
+        assert (tables.size() == 0);
+        assertThrows(UncheckedIOException.class, () -> tables.get(10, 100));
+    }
+
+    @Test
+    public void hugeQuantityTest() {
+        BidTables tables = new BidTables(OpponentModel.EVEN, Long.MAX_VALUE, Long.MAX_VALUE, null);
+        int[][] auctions = {{Integer.MAX_VALUE, 10}, {Integer.MAX_VALUE, Integer.MAX_VALUE}, {1 << 30, 1000},
+                {2, Integer.MAX_VALUE}, {100_000, 100_000}};
+        for (int[] auction : auctions) {
+            Bidder bidder = new DpBidder(tables, new BidderImpl());
+            Bidder heuristic = new BidderImpl();
+            bidder.init(auction[0], auction[1]);
+            heuristic.init(auction[0], auction[1]);
+            for (int round = 0; round < 10; round++) {
+                int bid = bidder.placeBid();
+                assert (bid == heuristic.placeBid());
+                bidder.bids(bid, 1);
+                heuristic.bids(bid, 1);
+            }
+        }
+        assert (tables.size() == 0);
+    }
+
+    /**
+     * Best outcome against the model by trying every bid.
+     */
+    private static int best(OpponentModel model, int quantity, int rounds, int round, int own, int other,
+                            int difference) {
+        if (round == rounds)
+            return difference != 0 ? Integer.signum(difference) : Integer.compare(own, other);
+        int otherBid = Math.max(0, Math.min(model.bid(rounds, rounds - round, other), other));
+        int units = Math.min(2, quantity - 2 * round);
+        int best = -1;
+        for (int bid = 0; bid <= own && best < 1; bid++)
+            best = Math.max(best, best(model, quantity, rounds, round + 1, own - bid, other - otherBid,
+                    difference + Integer.signum(bid - otherBid) * units));
+        return best;
+    }
+
+    private static final class ModelBidder implements Bidder {
+
+        private final OpponentModel model;
+        private int rounds;
+        private int round;
+        private int cashLeft;
+
+        private ModelBidder(OpponentModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public void init(int quantity, int cash) {
+            rounds = quantity % 2 == 0 ? quantity / 2 : quantity / 2 + 1;
+            round = 0;
+            cashLeft = cash;
+        }
+
+        @Override
+        public int placeBid() {
+            if (round >= rounds)
+                return 0;
+            return Math.max(0, Math.min(model.bid(rounds, rounds - round, cashLeft), cashLeft));
+        }
+
+        @Override
+        public void bids(int own, int other) {
+            cashLeft -= own;
+            round++;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.task.bot.service.impl;
+
+import com.task.bot.exception.AuctionNotFoundException;
+import com.task.bot.exception.UnknownStrategyException;
+import com.task.bot.journal.AuctionJournal;
+import com.task.bot.journal.MappedAuctionJournal;
+import com.task.bot.service.AuctionSessions;
+import com.task.bot.service.Bidder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FlatAuctionSessionsTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    public void sameBidsAsBidderTest() {
+        SplittableRandom random = new SplittableRandom(42);
+        AuctionSessions sessions = new FlatAuctionSessions(new BidderStats(), AuctionJournal.NONE, 4);
+        Map<String, Bidder> expected = new HashMap<>();
+        Map<String, int[]> cashLeft = new HashMap<>();
+        for (int step = 0; step < 500_000; step++) {
+            String id = "auction-" + random.nextInt(300);
+            Bidder bidder = expected.get(id);
+            int action = random.nextInt(100);
+            if (bidder == null || action < 2) {
+                int quantity = random.nextInt(4) == 0 ? random.nextInt(8) : random.nextInt(300);
+                int cash = random.nextInt(3) == 0 ? random.nextInt(quantity + 2) : random.nextInt(10_000);
+                bidder = new BidderImpl();
+                bidder.init(quantity, cash);
+                sessions.init(id, quantity, cash);
+                expected.put(id, bidder);
+                cashLeft.put(id, new int[]{cash});
+            } else if (action < 3) {
+                sessions.remove(id);
+                expected.remove(id);
+            } else if (action < 10) {
+                assert (sessions.placeBid(id) == bidder.placeBid()) : id;
+            } else {
+                int own = bidder.placeBid();
+                assert (sessions.placeBid(id) == own) : id;
+                int[] other = cashLeft.get(id);
+                int otherBid = random.nextInt(Math.max(other[0], 0) + 1) / (1 + random.nextInt(20));
+                other[0] -= otherBid;
+                bidder.bids(own, otherBid);
+                sessions.bids(id, own, otherBid);
+            }
+        }
+        assert (sessions.size() == expected.size());
+    }
+
+    @Test
+    public void smallCashTest() {
+        AuctionSessions sessions = new FlatAuctionSessions(new BidderStats());
+        for (int cash = 0; cash < 60; cash++) {
+            for (int seed = 0; seed < 20; seed++) {
+                SplittableRandom random = new SplittableRandom(seed);
+                Bidder expected = new BidderImpl();
+                expected.init(60, cash);
+                sessions.init("a", 60, cash);
+                for (int round = 0; round < 30; round++) {
+                    int bid = expected.placeBid();
+                    assert (sessions.placeBid("a") == bid) : cash + " " + seed + " " + round;
+                    int other = random.nextInt(3) == 0 ? 3 : random.nextInt(2);
+                    expected.bids(bid, other);
+                    sessions.bids("a", bid, other);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sessionsTest() {
+        AuctionSessions sessions = new FlatAuctionSessions(new BidderStats());
+        assertThrows(AuctionNotFoundException.class, () -> sessions.placeBid("a"));
+        assertThrows(AuctionNotFoundException.class, () -> sessions.remove("a"));
+        assertThrows(UnknownStrategyException.class, () -> sessions.init("a", "dp-even", 2, 10));
+        assert (sessions.strategies().equals(Set.of("heuristic")));
+        assertThrows(IllegalArgumentException.class, () -> sessions.init("a", 2, -1));
+        for (int i = 0; i < 10_000; i++)
+            sessions.init("auction-" + i, "heuristic", 2, i);
+        assert (sessions.size() == 10_000);
+        for (int i = 0; i < 10_000; i += 2)
+            sessions.remove("auction-" + i);
+        assert (sessions.size() == 5_000);
+        for (int i = 1; i < 10_000; i += 2)
+            assert (sessions.placeBid("auction-" + i) == i);
+        assertThrows(AuctionNotFoundException.class, () -> sessions.placeBid("auction-0"));
+    }
+
+    @Test
+    public void concurrentAuctionsTest() throws Exception {
+        AuctionSessions sessions = new FlatAuctionSessions(new BidderStats());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[4];
+            for (int thread = 0; thread < futures.length; thread++) {
+                String prefix = "thread-" + thread + "-";
+                futures[thread] = executor.submit(() -> {
+                    Bidder expected = new BidderImpl();
+                    for (int auction = 0; auction < 500; auction++) {
+                        String id = prefix + auction;
+                        expected.init(40, 1000);
+                        sessions.init(id, 40, 1000);
+                        int bid = sessions.placeBid(id);
+                        for (int round = 0; round < 20; round++) {
+                            assert (bid == expected.placeBid());
+                            expected.bids(bid, round * 7 % 90);
+                            bid = sessions.round(id, bid, round * 7 % 90);
+                        }
+                        if (auction % 2 == 0)
+                            sessions.remove(id);
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+        assert (sessions.size() == 4 * 250);
+    }
+
+    @Test
+    public void recoveryTest() {
+        AuctionJournal journal = new MappedAuctionJournal(dir, 1 << 16, Duration.ofMillis(10));
+        AuctionSessions sessions = new FlatAuctionSessions(new BidderStats(), journal, 4);
+        sessions.init("a", 200, 1000);
+        sessions.init("b", "heuristic", "team-1", 100, 500);
+        int own = sessions.placeBid("a");
+        for (int round = 0; round < 50; round++) {
+            own = sessions.round("a", own, round * 7 % 31);
+            sessions.bids("b", sessions.placeBid("b"), round % 5 * 20);
+        }
+        journal.flush();
+
+        AuctionSessions recovered = new FlatAuctionSessions(new BidderStats(),
+                new MappedAuctionJournal(dir, 1 << 16, Duration.ofMillis(10)), 8);
+        assert (recovered.size() == 2);
+        for (int round = 50; round < 100; round++) {
+            int other = round * 7 % 31;
+            int next = sessions.round("a", own, other);
+            assert (recovered.round("a", own, other) == next);
+            own = next;
+            assert (recovered.placeBid("b") == sessions.placeBid("b"));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.task.bot.service.impl;
+
+import com.task.bot.service.Bidder;
+import com.task.bot.simulation.Auction;
+import com.task.bot.simulation.Opponent;
+import com.task.bot.simulation.Score;
+import com.task.bot.simulation.Tournament;
+import com.task.bot.simulation.TournamentReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class MonteCarloBidderTest {
+
+    private static final long NO_DEADLINE = 1_000_000_000_000L;
+
+    private final ForkJoinPool single = new ForkJoinPool(1);
+    private final ForkJoinPool parallel = new ForkJoinPool(4);
+
+    @AfterEach
+    public void tearDown() {
+        single.shutdown();
+        parallel.shutdown();
+    }
+
+    @Test
+    public void strongerThanFallbackTest() {
+        Tournament tournament = new Tournament(BidderImpl::new, List.of(Opponent.values()))
+                .quantity(2, 40).parallelism(1).seed(7);
+        TournamentReport heuristic = tournament.run(100);
+        TournamentReport monteCarlo = new Tournament(
+                () -> new MonteCarloBidder(single, NO_DEADLINE, 32, new BidderImpl(), 1),
+                List.of(Opponent.values())).quantity(2, 40).parallelism(1).seed(7).run(100);
+        for (Opponent opponent : List.of(Opponent.FRONT_LOADED, Opponent.BACK_LOADED, Opponent.BIDDER_IMPL)) {
+            Score before = heuristic.getScores().get(opponent);
+            Score after = monteCarlo.getScores().get(opponent);
+            assert (after.winRate() > before.winRate() + 0.2)
+                    : opponent + " " + before.winRate() + " " + after.winRate();
+            assert (after.getInvalidBids() == 0);
+        }
+    }
+
+    @Test
+    public void expiredBudgetTest() {
+        Bidder expected = new BidderImpl();
+        Bidder zero = new MonteCarloBidder(single, 0, 32, new BidderImpl(), 1);
+        Bidder expired = new MonteCarloBidder(parallel, 1, 1_000_000, new BidderImpl(), 1);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int auction = 0; auction < 50; auction++) {
+            int quantity = random.nextInt(100);
+            int cash = random.nextInt(1000);
+            expected.init(quantity, cash);
+            zero.init(quantity, cash);
+            expired.init(quantity, cash);
+            for (int round = 0; round < quantity / 2 + 1; round++) {
+                int bid = expected.placeBid();
+                assert (zero.placeBid() == bid);
+                assert (expired.placeBid() == bid);
+                int other = random.nextInt(cash / 10 + 1);
+                expected.bids(bid, other);
+                zero.bids(bid, other);
+                expired.bids(bid, other);
+            }
+        }
+    }
+
+    @Test
+    public void parallelRolloutsTest() {
+        Bidder bidder = new MonteCarloBidder(parallel, 50_000_000L, 256, new BidderImpl(), 1);
+        Auction auction = new Auction();
+        SplittableRandom random = new SplittableRandom(5);
+        for (int i = 0; i < 20; i++) {
+            auction.play(bidder, Opponent.RANDOM.create(random), 2 + random.nextInt(30), random.nextInt(500));
+            assert (auction.getInvalidBids() == 0);
+        }
+        bidder.init(10, 100);
+        int bid = bidder.placeBid();
+        assert (bidder.placeBid() == bid);
+        assertThrows(IllegalArgumentException.class, () -> new MonteCarloBidder(parallel, -1, 1, new BidderImpl()));
+    }
+
+    @Test
+    public void rolloutsDoNotAllocateTest() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Bidder bidder = new MonteCarloBidder(single, NO_DEADLINE, 64, new BidderImpl(), 1);
+        for (int i = 0; i < 3; i++)
+            playRounds(bidder);
+        long start = threads.getCurrentThreadAllocatedBytes();
+        int rounds = playRounds(bidder);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - start;
+        assert (allocated < 1024) : allocated + " bytes allocated for " + rounds + " rounds";
+    }
+
+    @Test
+    public void largeCashTest() {
+        Bidder bidder = new MonteCarloBidder(single, NO_DEADLINE, 64, new BidderImpl(), 1);
+        int cash = 2_000_000_000;
+        bidder.init(10, cash);
+        int cashLeft = cash;
+        for (int round = 0; round < 5; round++) {
+            int bid = bidder.placeBid();
+            assert (bid >= 0 && bid <= cashLeft) : bid + " of " + cashLeft;
+            bidder.bids(bid, 300_000_000);
+            cashLeft -= bid;
+        }
+    }
+
+    @Test
+    public void replayWithoutRolloutsTest() {
+        Bidder bidder = new MonteCarloBidder(single, NO_DEADLINE, 100_000_000, new BidderImpl(), 1);
+        Bidder expected = new BidderImpl();
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            bidder.init(200, 10_000);
+            expected.init(200, 10_000);
+            for (int round = 0; round < 100; round++) {
+                bidder.replayBid();
+                int bid = expected.placeBid();
+                bidder.bids(bid, round % 7 * 20);
+                expected.bids(bid, round % 7 * 20);
+            }
+        });
+    }
+
+    private static int playRounds(Bidder bidder) {
+        bidder.init(200, 10_000);
+        for (int round = 0; round < 100; round++) {
+            int bid = bidder.placeBid();
+            bidder.bids(bid, round % 7 * 20);
+        }
+        return 100;
+    }
+}
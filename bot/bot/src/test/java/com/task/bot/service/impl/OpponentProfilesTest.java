@@ -0,0 +1,160 @@
+package com.task.bot.service.impl;
+
+import com.task.bot.service.Bidder;
+import com.task.bot.simulation.Opponent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class OpponentProfilesTest {
+
+    private static final int ONE = OpponentProfiles.ONE;
+
+    @Test
+    public void learnTest() {
+        OpponentProfiles profiles = new OpponentProfiles(16, Duration.ofHours(1));
+        long key = OpponentProfiles.fingerprint("team-1");
+        int slot = profiles.acquire(key);
+        assert (profiles.acquire(key) == slot);
+        assert (profiles.auctions(slot, key) == 0);
+        profiles.learn(slot, key, new int[]{50, 0, 0, 0, 0, 0, 0, 50}, 100);
+        assert (profiles.auctions(slot, key) == 1);
+        assert (profiles.shape(slot, 0) == ONE / 2);
+        assert (profiles.shape(slot, 7) == ONE / 2);
+        profiles.learn(slot, key, new int[]{100, 0, 0, 0, 0, 0, 0, 0}, 100);
+        assert (profiles.auctions(slot, key) == 2);
+        assert (profiles.shape(slot, 0) == ONE / 2 + ONE / 16);
+        assert (profiles.shape(slot, 7) == ONE / 2 - ONE / 16);
+        assert (profiles.size() == 1);
+    }
+
+    @Test
+    public void evictionTest() {
+        OpponentProfiles profiles = new OpponentProfiles(8, Duration.ofHours(1));
+        long[] keys = new long[9];
+        int[] slots = new int[9];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = OpponentProfiles.fingerprint("team-" + i);
+            slots[i] = profiles.acquire(keys[i]);
+            profiles.learn(slots[i], keys[i], new int[OpponentProfiles.PHASES], 100);
+        }
+        assert (profiles.size() == 8);
+        assert (profiles.auctions(slots[0], keys[0]) == 0);
+        for (int i = 1; i < keys.length; i++)
+            assert (profiles.auctions(slots[i], keys[i]) == 1);
+        profiles.learn(slots[0], keys[0], new int[OpponentProfiles.PHASES], 100);
+        assert (profiles.auctions(slots[8], keys[8]) == 1);
+    }
+
+    @Test
+    public void staleTest() {
+        OpponentProfiles profiles = new OpponentProfiles(16, Duration.ZERO);
+        long key = OpponentProfiles.fingerprint("team-1");
+        int slot = profiles.acquire(key);
+        profiles.learn(slot, key, new int[]{100, 0, 0, 0, 0, 0, 0, 0}, 100);
+        assert (profiles.acquire(key) == slot);
+        assert (profiles.auctions(slot, key) == 0);
+        assert (profiles.shape(slot, 0) == 0);
+    }
+
+    @Test
+    public void concurrentLearnTest() throws Exception {
+        OpponentProfiles profiles = new OpponentProfiles(1024, Duration.ofHours(1));
+        int threads = 4;
+        int auctions = 10_000;
+        int[] spent = {10, 10, 10, 10, 10, 10, 10, 30};
+        for (int i = 0; i < 16; i++) {
+            long key = OpponentProfiles.fingerprint("team-" + i);
+            profiles.learn(profiles.acquire(key), key, spent, 100);
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int thread = 0; thread < threads; thread++) {
+                futures[thread] = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < auctions; i++) {
+                        long key = OpponentProfiles.fingerprint("team-" + i % 16);
+                        profiles.learn(profiles.acquire(key), key, spent, 100);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+                future.get();
+        } finally {
+            executor.shutdown();
+        }
+        assert (profiles.size() == 16);
+        for (int i = 0; i < 16; i++) {
+            long key = OpponentProfiles.fingerprint("team-" + i);
+            int slot = profiles.acquire(key);
+            assert (profiles.auctions(slot, key) == threads * auctions / 16 + 1);
+            assert (profiles.shape(slot, 0) == 10 * ONE / 100);
+            assert (profiles.shape(slot, 7) == 30 * ONE / 100);
+        }
+    }
+
+    @Test
+    public void unknownOpponentTest() {
+        OpponentProfiles profiles = new OpponentProfiles(16, Duration.ofHours(1));
+        Bidder profiled = new BidderImpl(BidderStats.NONE, profiles);
+        Bidder plain = new BidderImpl();
+        for (int auction = 0; auction < 10; auction++) {
+            profiled.init(20, 100, null);
+            plain.init(20, 100);
+            for (int round = 0; round < 10; round++) {
+                int bid = plain.placeBid();
+                assert (profiled.placeBid() == bid);
+                profiled.bids(bid, round * 3);
+                plain.bids(bid, round * 3);
+            }
+        }
+        assert (profiles.size() == 0);
+    }
+
+    @Test
+    public void repeatOpponentTest() {
+        int plainWins = wins(OpponentProfiles.NONE);
+        int profiledWins = wins(new OpponentProfiles(16, Duration.ofHours(1)));
+        assert (profiledWins > plainWins) : plainWins + " " + profiledWins;
+    }
+
+    /**
+     * @return wins of the heuristic bidder in auctions against the same back-loaded opponent
+     */
+    private static int wins(OpponentProfiles profiles) {
+        SplittableRandom random = new SplittableRandom(1);
+        Bidder own = new BidderImpl(BidderStats.NONE, profiles);
+        Bidder other = Opponent.BACK_LOADED.create(random);
+        int wins = 0;
+        for (int auction = 0; auction < 2000; auction++) {
+            int quantity = 2 + random.nextInt(200);
+            int cash = 10 + random.nextInt(10_000);
+            own.init(quantity, cash, "back-loaded");
+            other.init(quantity, cash);
+            int ownCash = cash;
+            int otherCash = cash;
+            int difference = 0;
+            for (int quantityLeft = quantity; quantityLeft > 0; quantityLeft -= 2) {
+                int ownBid = own.placeBid();
+                int otherBid = other.placeBid();
+                own.bids(ownBid, otherBid);
+                other.bids(otherBid, ownBid);
+                ownCash -= ownBid;
+                otherCash -= otherBid;
+                difference += Integer.signum(ownBid - otherBid) * Math.min(quantityLeft, 2);
+            }
+            if (difference > 0 || difference == 0 && ownCash > otherCash)
+                wins++;
+        }
+        return wins;
+    }
+}
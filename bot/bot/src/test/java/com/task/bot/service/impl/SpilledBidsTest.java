@@ -0,0 +1,61 @@
+package com.task.bot.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public class SpilledBidsTest {
+
+    @Test
+    public void sameAsMapTest() {
+        SplittableRandom random = new SplittableRandom(42);
+        SpilledBids spilled = new SpilledBids();
+        Map<Long, Integer> expected = new HashMap<>();
+        int[] serials = {0, 1, 2, 3, -1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        for (int step = 0; step < 200_000; step++) {
+            int serial = serials[random.nextInt(serials.length)];
+            int round = random.nextInt(10) == 0 ? Integer.MAX_VALUE - random.nextInt(3) : random.nextInt(300);
+            int action = random.nextInt(100);
+            if (action < 50) {
+                int bid = random.nextInt(1000);
+                spilled.put(serial, round, bid);
+                expected.put(key(serial, round), bid);
+            } else if (action < 52) {
+                long count = expected.keySet().stream().filter(key -> (int) (key >>> 32) == serial).count();
+                spilled.remove(serial, (int) count);
+                expected.keySet().removeIf(key -> (int) (key >>> 32) == serial);
+            } else {
+                assert (spilled.get(serial, round, -1) == expected.getOrDefault(key(serial, round), -1));
+            }
+            assert (spilled.size() == expected.size());
+        }
+        expected.forEach((key, bid) -> {
+            assert (spilled.get((int) (key >>> 32), (int) (long) key, -1) == bid);
+        });
+    }
+
+    @Test
+    public void removeRowTest() {
+        SpilledBids spilled = new SpilledBids();
+        assert (spilled.get(1, 0, -1) == -1);
+        spilled.remove(1, 1);
+        for (int round = 0; round < 1000; round++) {
+            spilled.put(1, round, round);
+            spilled.put(2, round, -round);
+        }
+        spilled.remove(1, 1000);
+        assert (spilled.size() == 1000);
+        for (int round = 0; round < 1000; round++) {
+            assert (spilled.get(1, round, -1) == -1);
+            assert (spilled.get(2, round, 1) == -round);
+        }
+        spilled.remove(2, 1000);
+        assert (spilled.size() == 0);
+    }
+
+    private static long key(int serial, int round) {
+        return (long) serial << 32 | round & 0xFFFFFFFFL;
+    }
+}
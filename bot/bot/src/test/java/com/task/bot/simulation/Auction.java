@@ -0,0 +1,90 @@
+package com.task.bot.simulation;
+
+import com.task.bot.service.Bidder;
+
+/**
+ * Auctioneer of a single auction between two bidders. Quantity units are exhibited in batches of 2 pieces
+ * (the last batch has 1 piece for an odd quantity), the bigger bid takes the batch and a tie splits it.
+ * The bidder with more quantity units wins, and the one with more cash left wins a tie by quantity.
+ * A bid, which is negative or bigger than the cash left, is counted as invalid and replaced by 0.
+ * The instance keeps the results of the last auction only, so one auctioneer can be reused by a thread
+ * without allocations.
+ */
+public final class Auction {
+
+    private int ownQuantity;
+    private int otherQuantity;
+    private int ownCashLeft;
+    private int otherCashLeft;
+    private int invalidBids;
+
+    /**
+     * Plays the whole auction. Both bidders are initialized with the same quantity and cash.
+     * @param own the evaluated bidder
+     * @param other the opponent
+     * @param quantity the quantity
+     * @param cash the cash limit of each bidder
+     */
+    public void play(Bidder own, Bidder other, int quantity, int cash) {
+        own.init(quantity, cash);
+        other.init(quantity, cash);
+        ownQuantity = 0;
+        otherQuantity = 0;
+        ownCashLeft = cash;
+        otherCashLeft = cash;
+        invalidBids = 0;
+        for (int quantityLeft = quantity; quantityLeft > 0; quantityLeft -= 2) {
+            int ownBid = validate(own.placeBid(), ownCashLeft);
+            int otherBid = validate(other.placeBid(), otherCashLeft);
+            own.bids(ownBid, otherBid);
+            other.bids(otherBid, ownBid);
+            ownCashLeft -= ownBid;
+            otherCashLeft -= otherBid;
+            int units = Math.min(quantityLeft, 2);
+            if (ownBid > otherBid) {
+                ownQuantity += units;
+            } else if (ownBid < otherBid) {
+                otherQuantity += units;
+            } else {
+                ownQuantity += units / 2;
+                otherQuantity += units / 2;
+            }
+        }
+    }
+
+    /**
+     * @return 1 if the evaluated bidder has won the last auction, -1 if it has lost and 0 for a tie
+     */
+    public int outcome() {
+        if (ownQuantity != otherQuantity)
+            return ownQuantity > otherQuantity ? 1 : -1;
+        return Integer.compare(ownCashLeft, otherCashLeft);
+    }
+
+    public int getOwnQuantity() {
+        return ownQuantity;
+    }
+
+    public int getOtherQuantity() {
+        return otherQuantity;
+    }
+
+    public int getOwnCashLeft() {
+        return ownCashLeft;
+    }
+
+    public int getOtherCashLeft() {
+        return otherCashLeft;
+    }
+
+    public int getInvalidBids() {
+        return invalidBids;
+    }
+
+    private int validate(int bid, int cashLeft) {
+        if (bid >= 0 && bid <= cashLeft)
+            return bid;
+        invalidBids++;
+        return 0;
+    }
+}
@@ -0,0 +1,91 @@
+package com.task.bot.simulation;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streaming reader of the history format written by {@link AuctionHistoryWriter}. Auctions are decoded one by one
+ * from a fixed buffer into a reused {@link AuctionRecord}, so histories of any size are read in constant memory.
+ */
+public final class AuctionHistoryReader implements Closeable {
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[1 << 16];
+    private int position;
+    private int limit;
+
+    public AuctionHistoryReader(InputStream in) throws IOException {
+        this.in = in;
+        byte[] magic = new byte[AuctionHistoryWriter.MAGIC.length];
+        for (int i = 0; i < magic.length; i++) {
+            if (!fill())
+                throw new EOFException("History has no header");
+            magic[i] = buffer[position++];
+        }
+        if (!Arrays.equals(magic, AuctionHistoryWriter.MAGIC))
+            throw new IOException("Not an auction history or unsupported version");
+    }
+
+    /**
+     * Opens the history file, gzip compressed if its name ends with .gz.
+     * @param path history file
+     * @return reader of the file
+     */
+    public static AuctionHistoryReader open(Path path) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        return new AuctionHistoryReader(path.toString().endsWith(".gz") ? new GZIPInputStream(in, 1 << 16) : in);
+    }
+
+    /**
+     * Reads the next auction.
+     * @param record record to fill
+     * @return false if there are no more auctions
+     */
+    public boolean next(AuctionRecord record) throws IOException {
+        if (!fill())
+            return false;
+        int quantity = readVarint();
+        int cash = readVarint();
+        int rounds = readVarint();
+        record.set(quantity, cash, rounds);
+        int[] otherBids = record.getOtherBids();
+        for (int round = 0; round < rounds; round++)
+            otherBids[round] = readVarint();
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int readVarint() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (!fill())
+                throw new EOFException("Auction is truncated");
+            byte b = buffer[position++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    /**
+     * @return false if the buffer is empty and the stream is over
+     */
+    private boolean fill() throws IOException {
+        if (position < limit)
+            return true;
+        limit = in.readNBytes(buffer, 0, buffer.length);
+        position = 0;
+        return limit > 0;
+    }
+}
@@ -0,0 +1,78 @@
+package com.task.bot.simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writer of recorded auctions in the history format read by {@link AuctionHistoryReader}:
+ * the magic bytes "BIDH" and the version byte, then for every auction the quantity, the cash, the number of rounds
+ * and the bids of the opponent, all of them as unsigned LEB128 varints, so small bids take a single byte.
+ */
+public final class AuctionHistoryWriter implements Closeable {
+
+    static final byte[] MAGIC = {'B', 'I', 'D', 'H', 1};
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[1 << 16];
+    private int position;
+
+    public AuctionHistoryWriter(OutputStream out) throws IOException {
+        this.out = out;
+        out.write(MAGIC);
+    }
+
+    /**
+     * Creates the history file, gzip compressed if its name ends with .gz.
+     * @param path history file
+     * @return writer of the file
+     */
+    public static AuctionHistoryWriter open(Path path) throws IOException {
+        OutputStream out = Files.newOutputStream(path);
+        return new AuctionHistoryWriter(path.toString().endsWith(".gz") ? new GZIPOutputStream(out, 1 << 16) : out);
+    }
+
+    /**
+     * @param record recorded auction
+     */
+    public void write(AuctionRecord record) throws IOException {
+        write(record.getQuantity(), record.getCash(), record.getOtherBids(), record.getRounds());
+    }
+
+    /**
+     * @param quantity the quantity
+     * @param cash the cash limit of each bidder
+     * @param otherBids bids of the opponent
+     * @param rounds number of rounds, the first rounds bids are written
+     */
+    public void write(int quantity, int cash, int[] otherBids, int rounds) throws IOException {
+        writeVarint(quantity);
+        writeVarint(cash);
+        writeVarint(rounds);
+        for (int round = 0; round < rounds; round++)
+            writeVarint(otherBids[round]);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (out) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private void writeVarint(int value) throws IOException {
+        if (position + 5 > buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+}
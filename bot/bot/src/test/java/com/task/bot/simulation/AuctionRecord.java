@@ -0,0 +1,56 @@
+package com.task.bot.simulation;
+
+import java.util.Arrays;
+
+/**
+ * One recorded auction: the quantity and cash it was initialized with and the bids of the opponent per round.
+ * The instance is filled by {@link AuctionHistoryReader} again for every auction, so the bids array is reused
+ * and may be longer than the number of rounds.
+ */
+public final class AuctionRecord {
+
+    private int quantity;
+    private int cash;
+    private int rounds;
+    private int[] otherBids = new int[16];
+
+    public AuctionRecord() {
+    }
+
+    /**
+     * @param quantity the quantity
+     * @param cash the cash limit of each bidder
+     * @param otherBids bids of the opponent, one per round
+     */
+    public AuctionRecord(int quantity, int cash, int[] otherBids) {
+        set(quantity, cash, otherBids.length);
+        System.arraycopy(otherBids, 0, this.otherBids, 0, otherBids.length);
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getCash() {
+        return cash;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * @return bids of the opponent, only the first {@link #getRounds()} of them belong to the auction
+     */
+    public int[] getOtherBids() {
+        return otherBids;
+    }
+
+    void set(int quantity, int cash, int rounds) {
+        this.quantity = quantity;
+        this.cash = cash;
+        this.rounds = rounds;
+        if (otherBids.length < rounds)
+            otherBids = Arrays.copyOf(otherBids, Math.max(rounds, otherBids.length * 2));
+    }
+}
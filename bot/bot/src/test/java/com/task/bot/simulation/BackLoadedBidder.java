@@ -0,0 +1,15 @@
+package com.task.bot.simulation;
+
+/**
+ * Spends the cash with linearly increasing weights, so the last rounds get the biggest bids.
+ * The weight of the round is its number starting from 1.
+ */
+class BackLoadedBidder extends ScriptedBidder {
+
+    @Override
+    protected int nextBid() {
+        long weight = round + 1;
+        long weightsLeft = (long) (round + 1 + rounds) * roundsLeft() / 2;
+        return (int) (cashLeft * weight / weightsLeft);
+    }
+}
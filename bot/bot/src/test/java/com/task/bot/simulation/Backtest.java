@@ -0,0 +1,236 @@
+package com.task.bot.simulation;
+
+import com.task.bot.service.Bidder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Offline replay of recorded auction histories through two strategies, the baseline and the candidate, to find
+ * the auctions where the candidate ends differently. Both strategies play every recorded auction against a
+ * {@link RecordedBidder} of the opponent bids.
+ * Every file is read by its own task on a fork-join pool, the task decodes batches of auctions into flat arrays and
+ * forks a task per batch to play them, so a single file is played on all cores as well. At most a few batches per
+ * file are in flight and batches are reused, so the memory does not depend on the size of histories.
+ * Diffs of a file are reported in the order of its auctions.
+ */
+public class Backtest {
+
+    private static final int BATCH = 4096;
+    private static final int BATCHES_IN_FLIGHT = 4;
+
+    private final Supplier<? extends Bidder> baseline;
+    private final Supplier<? extends Bidder> candidate;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public Backtest(Supplier<? extends Bidder> baseline, Supplier<? extends Bidder> candidate) {
+        this.baseline = baseline;
+        this.candidate = candidate;
+    }
+
+    public Backtest parallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism can not be less than 1");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Plays all auctions of the history files.
+     * @param files history files in the format of {@link AuctionHistoryWriter}
+     * @param diffs receiver of the auctions where the strategies ended differently, called by one thread at a time
+     * @return scores of both strategies
+     */
+    public BacktestReport run(List<Path> files, Consumer<OutcomeDiff> diffs) {
+        long start = System.nanoTime();
+        Result total = new Result();
+        ReentrantLock lock = new ReentrantLock();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    List<FileTask> tasks = new ArrayList<>();
+                    for (Path file : files)
+                        tasks.add(new FileTask(file, total, diffs, lock));
+                    invokeAll(tasks);
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        return new BacktestReport(total.baseline, total.candidate, total.improved, total.worsened, total.changed,
+                System.nanoTime() - start);
+    }
+
+    /**
+     * Scores and diffs of a batch, a file or the whole backtest.
+     */
+    private static final class Result {
+
+        private Score baseline = new Score();
+        private Score candidate = new Score();
+        private long improved;
+        private long worsened;
+        private long changed;
+        private List<OutcomeDiff> diffs = new ArrayList<>();
+
+        private void add(OutcomeDiff diff) {
+            int change = diff.outcomeChange();
+            if (change > 0)
+                improved++;
+            else if (change < 0)
+                worsened++;
+            changed++;
+            diffs.add(diff);
+        }
+
+        private void merge(Result other) {
+            baseline.merge(other.baseline);
+            candidate.merge(other.candidate);
+            improved += other.improved;
+            worsened += other.worsened;
+            changed += other.changed;
+        }
+
+        private void reset() {
+            baseline = new Score();
+            candidate = new Score();
+            improved = 0;
+            worsened = 0;
+            changed = 0;
+            diffs = new ArrayList<>();
+        }
+    }
+
+    private final class FileTask extends RecursiveAction {
+
+        private final Path file;
+        private final Result total;
+        private final Consumer<OutcomeDiff> diffs;
+        private final ReentrantLock lock;
+        private final Result result = new Result();
+
+        private FileTask(Path file, Result total, Consumer<OutcomeDiff> diffs, ReentrantLock lock) {
+            this.file = file;
+            this.total = total;
+            this.diffs = diffs;
+            this.lock = lock;
+        }
+
+        @Override
+        protected void compute() {
+            ArrayDeque<Batch> inFlight = new ArrayDeque<>();
+            AuctionRecord record = new AuctionRecord();
+            long auction = 0;
+            try (AuctionHistoryReader reader = AuctionHistoryReader.open(file)) {
+                boolean more = true;
+                while (more) {
+                    Batch batch = inFlight.size() < BATCHES_IN_FLIGHT ? new Batch(file.toString()) : complete(inFlight);
+                    batch.clear(auction);
+                    while (batch.count < BATCH && (more = reader.next(record)))
+                        batch.add(record);
+                    auction += batch.count;
+                    batch.fork();
+                    inFlight.add(batch);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            while (!inFlight.isEmpty())
+                complete(inFlight);
+            lock.lock();
+            try {
+                total.merge(result);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Joins the oldest batch in flight and takes its results.
+         * @return the batch to reuse
+         */
+        private Batch complete(ArrayDeque<Batch> inFlight) {
+            Batch batch = inFlight.poll();
+            batch.join();
+            result.merge(batch.result);
+            if (!batch.result.diffs.isEmpty()) {
+                lock.lock();
+                try {
+                    batch.result.diffs.forEach(diffs);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            batch.reinitialize();
+            return batch;
+        }
+    }
+
+    /**
+     * Auctions decoded into flat arrays: the bids of the auction i are bids[offsets[i]..offsets[i + 1]).
+     */
+    private final class Batch extends RecursiveAction {
+
+        private final String file;
+        private final int[] quantities = new int[BATCH];
+        private final int[] cashes = new int[BATCH];
+        private final int[] offsets = new int[BATCH + 1];
+        private int[] bids = new int[BATCH * 16];
+        private int count;
+        private long firstAuction;
+        private final Result result = new Result();
+
+        private Batch(String file) {
+            this.file = file;
+        }
+
+        private void clear(long firstAuction) {
+            this.firstAuction = firstAuction;
+            count = 0;
+            result.reset();
+        }
+
+        private void add(AuctionRecord record) {
+            int from = offsets[count];
+            if (from + record.getRounds() > bids.length)
+                bids = Arrays.copyOf(bids, Math.max(from + record.getRounds(), bids.length * 2));
+            System.arraycopy(record.getOtherBids(), 0, bids, from, record.getRounds());
+            quantities[count] = record.getQuantity();
+            cashes[count] = record.getCash();
+            offsets[++count] = from + record.getRounds();
+        }
+
+        @Override
+        protected void compute() {
+            Bidder baselineBidder = baseline.get();
+            Bidder candidateBidder = candidate.get();
+            RecordedBidder opponent = new RecordedBidder();
+            Auction baselineAuction = new Auction();
+            Auction candidateAuction = new Auction();
+            for (int i = 0; i < count; i++) {
+                int rounds = offsets[i + 1] - offsets[i];
+                opponent.load(bids, offsets[i], rounds);
+                baselineAuction.play(baselineBidder, opponent, quantities[i], cashes[i]);
+                opponent.load(bids, offsets[i], rounds);
+                candidateAuction.play(candidateBidder, opponent, quantities[i], cashes[i]);
+                result.baseline.add(baselineAuction, cashes[i]);
+                result.candidate.add(candidateAuction, cashes[i]);
+                if (OutcomeDiff.differ(baselineAuction, candidateAuction))
+                    result.add(new OutcomeDiff(file, firstAuction + i, quantities[i], cashes[i],
+                            baselineAuction, candidateAuction));
+            }
+        }
+    }
+}
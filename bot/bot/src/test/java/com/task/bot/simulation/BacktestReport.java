@@ -0,0 +1,80 @@
+package com.task.bot.simulation;
+
+/**
+ * Scores of the baseline and candidate strategies over the same recorded auctions, the number of auctions
+ * where the candidate changed the outcome and the speed of the backtest.
+ */
+public final class BacktestReport {
+
+    private final Score baseline;
+    private final Score candidate;
+    private final long improved;
+    private final long worsened;
+    private final long changed;
+    private final long elapsedNanos;
+
+    BacktestReport(Score baseline, Score candidate, long improved, long worsened, long changed, long elapsedNanos) {
+        this.baseline = baseline;
+        this.candidate = candidate;
+        this.improved = improved;
+        this.worsened = worsened;
+        this.changed = changed;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Score getBaseline() {
+        return baseline;
+    }
+
+    public Score getCandidate() {
+        return candidate;
+    }
+
+    /**
+     * @return auctions with a better outcome of the candidate
+     */
+    public long getImproved() {
+        return improved;
+    }
+
+    /**
+     * @return auctions with a worse outcome of the candidate
+     */
+    public long getWorsened() {
+        return worsened;
+    }
+
+    /**
+     * @return auctions where the candidate ended differently in any way, including the improved and worsened ones
+     */
+    public long getChanged() {
+        return changed;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double auctionsPerSecond() {
+        return elapsedNanos == 0 ? 0 : baseline.getAuctions() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format("%-12s %12s %8s %8s %8s %10s %8s%n",
+                "strategy", "auctions", "win", "tie", "loss", "qty/100$", "invalid"));
+        append(report, "baseline", baseline);
+        append(report, "candidate", candidate);
+        report.append(String.format("candidate improved %d, worsened %d, changed %d auctions%n",
+                improved, worsened, changed));
+        report.append(String.format("%d auctions in %.2f s, %.0f auctions/s%n",
+                baseline.getAuctions(), elapsedNanos / 1e9, auctionsPerSecond()));
+        return report.toString();
+    }
+
+    private static void append(StringBuilder report, String strategy, Score score) {
+        report.append(String.format("%-12s %12d %7.2f%% %7.2f%% %7.2f%% %10.3f %8d%n",
+                strategy, score.getAuctions(), 100 * score.winRate(), 100 * score.tieRate(), 100 * score.lossRate(),
+                score.cashEfficiency(), score.getInvalidBids()));
+    }
+}
@@ -0,0 +1,86 @@
+package com.task.bot.simulation;
+
+import com.task.bot.service.impl.BidderImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BacktestTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    public void historyTest() throws IOException {
+        for (String name : List.of("history.bin", "history.bin.gz")) {
+            Path file = dir.resolve(name);
+            try (AuctionHistoryWriter writer = AuctionHistoryWriter.open(file)) {
+                writer.write(new AuctionRecord(4, 10, new int[]{3, 7}));
+                writer.write(new AuctionRecord(0, Integer.MAX_VALUE, new int[0]));
+                writer.write(new AuctionRecord(40, 2_000_000_000, new int[]{127, 128, 16384, -1, Integer.MAX_VALUE}));
+            }
+            AuctionRecord record = new AuctionRecord();
+            try (AuctionHistoryReader reader = AuctionHistoryReader.open(file)) {
+                assert (reader.next(record));
+                assert (record.getQuantity() == 4 && record.getCash() == 10 && record.getRounds() == 2);
+                assert (record.getOtherBids()[0] == 3 && record.getOtherBids()[1] == 7);
+                assert (reader.next(record));
+                assert (record.getCash() == Integer.MAX_VALUE && record.getRounds() == 0);
+                assert (reader.next(record));
+                assert (record.getRounds() == 5 && record.getOtherBids()[2] == 16384);
+                assert (record.getOtherBids()[3] == -1 && record.getOtherBids()[4] == Integer.MAX_VALUE);
+                assert (!reader.next(record));
+            }
+        }
+    }
+
+    @Test
+    public void sameStrategyHasNoDiffsTest() throws IOException {
+        Path file = record("random.bin", Opponent.RANDOM, 10_000);
+        List<OutcomeDiff> diffs = new ArrayList<>();
+        BacktestReport report = new Backtest(BidderImpl::new, BidderImpl::new).run(List.of(file), diffs::add);
+        assert (report.getBaseline().getAuctions() == 10_000);
+        assert (report.getChanged() == 0 && diffs.isEmpty());
+        assert (report.getBaseline().getWins() == report.getCandidate().getWins());
+    }
+
+    @Test
+    public void diffsTest() throws IOException {
+        List<Path> files = List.of(record("random.bin", Opponent.RANDOM, 10_000),
+                record("mirror.bin.gz", Opponent.MIRROR, 5_000));
+        List<OutcomeDiff> diffs = new ArrayList<>();
+        BacktestReport report = new Backtest(BidderImpl::new, FrontLoadedBidder::new).parallelism(4)
+                .run(files, diffs::add);
+        assert (report.getBaseline().getAuctions() == 15_000 && report.getCandidate().getAuctions() == 15_000);
+        assert (report.getChanged() == diffs.size() && report.getChanged() > 0);
+        assert (report.getImproved() + report.getWorsened() <= report.getChanged());
+        assert (report.getImproved() == diffs.stream().filter(diff -> diff.outcomeChange() > 0).count());
+        long previous = -1;
+        for (OutcomeDiff diff : diffs) {
+            if (diff.getFile().equals(files.get(0).toString())) {
+                assert (diff.getAuction() > previous && diff.getAuction() < 10_000);
+                previous = diff.getAuction();
+            }
+        }
+    }
+
+    @Test
+    public void recordedBidderTest() {
+        RecordedBidder opponent = new RecordedBidder();
+        opponent.load(new AuctionRecord(6, 10, new int[]{5, 6}));
+        Auction auction = new Auction();
+        auction.play(new FrontLoadedBidder(), opponent, 6, 10);
+        assert (auction.getOtherCashLeft() == 10 - 5 - 0);
+        assert (auction.getInvalidBids() == 1);
+    }
+
+    private Path record(String name, Opponent opponent, long auctions) throws IOException {
+        Path file = dir.resolve(name);
+        HistoryRecorder.record(file, auctions, opponent, new int[]{2, 200}, new int[]{0, 10_000}, 42);
+        return file;
+    }
+}
@@ -0,0 +1,13 @@
+package com.task.bot.simulation;
+
+/**
+ * Spends the cash with linearly decreasing weights, so the first rounds get the biggest bids.
+ * The weight of the current round is the number of rounds left.
+ */
+class FrontLoadedBidder extends ScriptedBidder {
+
+    @Override
+    protected int nextBid() {
+        return (int) (2L * cashLeft / (roundsLeft() + 1));
+    }
+}
@@ -0,0 +1,78 @@
+package com.task.bot.simulation;
+
+import com.task.bot.service.Bidder;
+import com.task.bot.service.impl.BidderImpl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Recording of synthetic history files of the opponent bids, for BacktestRunner and the tests of {@link Backtest}.
+ */
+public final class HistoryRecorder {
+
+    private HistoryRecorder() {
+    }
+
+    /**
+     * Records the bids of the opponent in auctions against {@link BidderImpl}.
+     * @param path history file, gzip compressed if its name ends with .gz
+     * @param auctions number of auctions
+     * @param opponent the recorded opponent
+     * @param quantity minimum and maximum quantity of an auction
+     * @param cash minimum and maximum cash of an auction
+     * @param seed seed of the random quantity, cash and opponent
+     */
+    public static void record(Path path, long auctions, Opponent opponent, int[] quantity, int[] cash, long seed)
+            throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        Recorder recorder = new Recorder(opponent.create(random.split()));
+        Bidder own = new BidderImpl();
+        Auction auction = new Auction();
+        try (AuctionHistoryWriter writer = AuctionHistoryWriter.open(path)) {
+            for (long n = 0; n < auctions; n++) {
+                int auctionQuantity = random.nextInt(quantity[0], quantity[1] + 1);
+                int auctionCash = random.nextInt(cash[0], cash[1] + 1);
+                auction.play(own, recorder, auctionQuantity, auctionCash);
+                writer.write(auctionQuantity, auctionCash, recorder.bids, recorder.rounds);
+            }
+        }
+    }
+
+    /**
+     * Opponent which keeps its placed bids of the current auction.
+     */
+    private static final class Recorder implements Bidder {
+
+        private final Bidder bidder;
+        private int[] bids = new int[16];
+        private int rounds;
+
+        private Recorder(Bidder bidder) {
+            this.bidder = bidder;
+        }
+
+        @Override
+        public void init(int quantity, int cash) {
+            bidder.init(quantity, cash);
+            rounds = 0;
+        }
+
+        @Override
+        public int placeBid() {
+            int bid = bidder.placeBid();
+            if (rounds == bids.length)
+                bids = Arrays.copyOf(bids, rounds * 2);
+            bids[rounds] = bid;
+            return bid;
+        }
+
+        @Override
+        public void bids(int own, int other) {
+            bidder.bids(own, other);
+            rounds++;
+        }
+    }
+}
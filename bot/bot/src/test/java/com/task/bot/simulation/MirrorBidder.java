@@ -0,0 +1,26 @@
+package com.task.bot.simulation;
+
+/**
+ * Repeats the previous bid of the other bidder, starting with the even share of the cash.
+ */
+class MirrorBidder extends ScriptedBidder {
+
+    private int prevOtherBid;
+
+    @Override
+    public void init(int quantity, int cash) {
+        super.init(quantity, cash);
+        prevOtherBid = rounds == 0 ? 0 : cash / rounds;
+    }
+
+    @Override
+    public void bids(int own, int other) {
+        super.bids(own, other);
+        prevOtherBid = other;
+    }
+
+    @Override
+    protected int nextBid() {
+        return prevOtherBid;
+    }
+}
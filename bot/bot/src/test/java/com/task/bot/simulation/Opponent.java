@@ -0,0 +1,50 @@
+package com.task.bot.simulation;
+
+import com.task.bot.service.Bidder;
+import com.task.bot.service.impl.BidderImpl;
+
+import java.util.SplittableRandom;
+
+/**
+ * Library of opponent bots for the tournament.
+ */
+public enum Opponent {
+
+    RANDOM {
+        @Override
+        public Bidder create(SplittableRandom random) {
+            return new RandomBidder(random);
+        }
+    },
+    FRONT_LOADED {
+        @Override
+        public Bidder create(SplittableRandom random) {
+            return new FrontLoadedBidder();
+        }
+    },
+    BACK_LOADED {
+        @Override
+        public Bidder create(SplittableRandom random) {
+            return new BackLoadedBidder();
+        }
+    },
+    MIRROR {
+        @Override
+        public Bidder create(SplittableRandom random) {
+            return new MirrorBidder();
+        }
+    },
+    BIDDER_IMPL {
+        @Override
+        public Bidder create(SplittableRandom random) {
+            return new BidderImpl();
+        }
+    };
+
+    /**
+     * Creates the opponent. It is re-initialized for every auction, so one instance plays many auctions.
+     * @param random source of randomness owned by the calling thread
+     * @return the opponent bidder
+     */
+    public abstract Bidder create(SplittableRandom random);
+}
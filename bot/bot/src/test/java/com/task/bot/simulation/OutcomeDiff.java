@@ -0,0 +1,102 @@
+package com.task.bot.simulation;
+
+/**
+ * Recorded auction where the candidate strategy ended differently from the baseline one: by the outcome,
+ * the quantity won or the cash left.
+ */
+public final class OutcomeDiff {
+
+    /**
+     * Column names of {@link #toCsv()}.
+     */
+    public static final String CSV_HEADER = "file,auction,quantity,cash,baseline_outcome,candidate_outcome,"
+            + "baseline_quantity,candidate_quantity,baseline_cash_left,candidate_cash_left";
+
+    private final String file;
+    private final long auction;
+    private final int quantity;
+    private final int cash;
+    private final int baselineOutcome;
+    private final int candidateOutcome;
+    private final int baselineQuantity;
+    private final int candidateQuantity;
+    private final int baselineCashLeft;
+    private final int candidateCashLeft;
+
+    OutcomeDiff(String file, long auction, int quantity, int cash, Auction baseline, Auction candidate) {
+        this.file = file;
+        this.auction = auction;
+        this.quantity = quantity;
+        this.cash = cash;
+        baselineOutcome = baseline.outcome();
+        candidateOutcome = candidate.outcome();
+        baselineQuantity = baseline.getOwnQuantity();
+        candidateQuantity = candidate.getOwnQuantity();
+        baselineCashLeft = baseline.getOwnCashLeft();
+        candidateCashLeft = candidate.getOwnCashLeft();
+    }
+
+    static boolean differ(Auction baseline, Auction candidate) {
+        return baseline.getOwnQuantity() != candidate.getOwnQuantity()
+                || baseline.getOwnCashLeft() != candidate.getOwnCashLeft()
+                || baseline.outcome() != candidate.outcome();
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    /**
+     * @return index of the auction in its file, from 0
+     */
+    public long getAuction() {
+        return auction;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getCash() {
+        return cash;
+    }
+
+    public int getBaselineOutcome() {
+        return baselineOutcome;
+    }
+
+    public int getCandidateOutcome() {
+        return candidateOutcome;
+    }
+
+    public int getBaselineQuantity() {
+        return baselineQuantity;
+    }
+
+    public int getCandidateQuantity() {
+        return candidateQuantity;
+    }
+
+    public int getBaselineCashLeft() {
+        return baselineCashLeft;
+    }
+
+    public int getCandidateCashLeft() {
+        return candidateCashLeft;
+    }
+
+    /**
+     * @return 1 if the candidate has a better outcome, -1 if worse and 0 if the outcome is the same
+     */
+    public int outcomeChange() {
+        return Integer.compare(candidateOutcome, baselineOutcome);
+    }
+
+    /**
+     * @return the diff as a line of comma separated values in the order of {@link #CSV_HEADER}
+     */
+    public String toCsv() {
+        return file + "," + auction + "," + quantity + "," + cash + "," + baselineOutcome + "," + candidateOutcome + ","
+                + baselineQuantity + "," + candidateQuantity + "," + baselineCashLeft + "," + candidateCashLeft;
+    }
+}
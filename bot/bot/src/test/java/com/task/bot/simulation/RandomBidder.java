@@ -0,0 +1,21 @@
+package com.task.bot.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Bids a random amount from 0 up to twice the even share of the cash left.
+ */
+class RandomBidder extends ScriptedBidder {
+
+    private final SplittableRandom random;
+
+    RandomBidder(SplittableRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    protected int nextBid() {
+        long bound = 2L * cashLeft / roundsLeft() + 1;
+        return (int) random.nextLong(bound);
+    }
+}
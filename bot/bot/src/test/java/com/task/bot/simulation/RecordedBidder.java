@@ -0,0 +1,50 @@
+package com.task.bot.simulation;
+
+import com.task.bot.service.Bidder;
+
+/**
+ * Opponent which replays the recorded bids of an auction round by round, regardless of the bids of the other side,
+ * and bids 0 after the recorded rounds are over.
+ */
+public final class RecordedBidder implements Bidder {
+
+    private int[] bids = new int[0];
+    private int from;
+    private int rounds;
+    private int round;
+
+    /**
+     * Loads the bids of the next auction, they are not copied.
+     * @param bids array of recorded bids
+     * @param from index of the bid of the first round
+     * @param rounds number of recorded rounds
+     */
+    public void load(int[] bids, int from, int rounds) {
+        this.bids = bids;
+        this.from = from;
+        this.rounds = rounds;
+        round = 0;
+    }
+
+    /**
+     * @param record recorded auction
+     */
+    public void load(AuctionRecord record) {
+        load(record.getOtherBids(), 0, record.getRounds());
+    }
+
+    @Override
+    public void init(int quantity, int cash) {
+        round = 0;
+    }
+
+    @Override
+    public int placeBid() {
+        return round < rounds ? bids[from + round] : 0;
+    }
+
+    @Override
+    public void bids(int own, int other) {
+        round++;
+    }
+}
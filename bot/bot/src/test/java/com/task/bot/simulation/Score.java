@@ -0,0 +1,86 @@
+package com.task.bot.simulation;
+
+/**
+ * Results of the evaluated bidder against one opponent.
+ */
+public final class Score {
+
+    private long auctions;
+    private long wins;
+    private long ties;
+    private long losses;
+    private long cashSpent;
+    private long quantityWon;
+    private long invalidBids;
+
+    void add(Auction auction, int cash) {
+        auctions++;
+        int outcome = auction.outcome();
+        if (outcome > 0)
+            wins++;
+        else if (outcome < 0)
+            losses++;
+        else
+            ties++;
+        cashSpent += cash - auction.getOwnCashLeft();
+        quantityWon += auction.getOwnQuantity();
+        invalidBids += auction.getInvalidBids();
+    }
+
+    void merge(Score other) {
+        auctions += other.auctions;
+        wins += other.wins;
+        ties += other.ties;
+        losses += other.losses;
+        cashSpent += other.cashSpent;
+        quantityWon += other.quantityWon;
+        invalidBids += other.invalidBids;
+    }
+
+    public long getAuctions() {
+        return auctions;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    public long getLosses() {
+        return losses;
+    }
+
+    public long getCashSpent() {
+        return cashSpent;
+    }
+
+    public long getQuantityWon() {
+        return quantityWon;
+    }
+
+    public long getInvalidBids() {
+        return invalidBids;
+    }
+
+    public double winRate() {
+        return auctions == 0 ? 0 : (double) wins / auctions;
+    }
+
+    public double tieRate() {
+        return auctions == 0 ? 0 : (double) ties / auctions;
+    }
+
+    public double lossRate() {
+        return auctions == 0 ? 0 : (double) losses / auctions;
+    }
+
+    /**
+     * @return quantity units won per 100 monetary units spent
+     */
+    public double cashEfficiency() {
+        return cashSpent == 0 ? 0 : 100.0 * quantityWon / cashSpent;
+    }
+}
@@ -0,0 +1,48 @@
+package com.task.bot.simulation;
+
+import com.task.bot.service.Bidder;
+
+/**
+ * Base of the simulated opponents. Keeps the round and the cash left, so that subclasses only decide how much
+ * of the remaining cash to put in the current round.
+ */
+abstract class ScriptedBidder implements Bidder {
+
+    protected int rounds;
+    protected int round;
+    protected int totalCash;
+    protected int cashLeft;
+
+    @Override
+    public void init(int quantity, int cash) {
+        rounds = quantity % 2 == 0 ? quantity / 2 : quantity / 2 + 1;
+        round = 0;
+        totalCash = cash;
+        cashLeft = cash;
+    }
+
+    @Override
+    public int placeBid() {
+        if (round >= rounds || cashLeft <= 0)
+            return 0;
+        return Math.max(0, Math.min(nextBid(), cashLeft));
+    }
+
+    @Override
+    public void bids(int own, int other) {
+        cashLeft -= own;
+        round++;
+    }
+
+    /**
+     * @return bid for the current round, it is limited by the cash left afterwards
+     */
+    protected abstract int nextBid();
+
+    /**
+     * @return number of rounds left including the current one
+     */
+    protected int roundsLeft() {
+        return rounds - round;
+    }
+}
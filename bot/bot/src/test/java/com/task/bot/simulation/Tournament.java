@@ -0,0 +1,135 @@
+package com.task.bot.simulation;
+
+import com.task.bot.service.Bidder;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * In-process tournament of the evaluated bidder against the library of opponents.
+ * Every auction is played against each opponent with quantity and cash drawn uniformly from the configured ranges.
+ * Auctions are split into chunks run on a fork-join pool, each chunk re-initializes its own bidders instead of
+ * creating them per auction. Results are reproducible for the same seed regardless of the parallelism.
+ */
+public class Tournament {
+
+    private static final int CHUNK = 2048;
+
+    private final Supplier<? extends Bidder> strategy;
+    private final List<Opponent> opponents;
+    private int minQuantity = 2;
+    private int maxQuantity = 200;
+    private int minCash = 0;
+    private int maxCash = 10_000;
+    private long seed = 42;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public Tournament(Supplier<? extends Bidder> strategy, List<Opponent> opponents) {
+        this.strategy = strategy;
+        this.opponents = List.copyOf(opponents);
+    }
+
+    public Tournament quantity(int min, int max) {
+        checkRange(min, max);
+        minQuantity = min;
+        maxQuantity = max;
+        return this;
+    }
+
+    public Tournament cash(int min, int max) {
+        checkRange(min, max);
+        minCash = min;
+        maxCash = max;
+        return this;
+    }
+
+    public Tournament seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public Tournament parallelism(int parallelism) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism can not be less than 1");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Plays the auctions against every opponent.
+     * @param auctions number of auctions against each opponent
+     * @return scores per opponent
+     */
+    public TournamentReport run(long auctions) {
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Score[] scores;
+        try {
+            scores = pool.invoke(new Chunk(0, auctions));
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+        Map<Opponent, Score> report = new EnumMap<>(Opponent.class);
+        for (int i = 0; i < opponents.size(); i++)
+            report.put(opponents.get(i), scores[i]);
+        return new TournamentReport(report, elapsed);
+    }
+
+    private void checkRange(int min, int max) {
+        if (min < 0 || max < min)
+            throw new IllegalArgumentException("Range " + min + ".." + max + " is not valid");
+    }
+
+    private final class Chunk extends RecursiveTask<Score[]> {
+
+        private final long from;
+        private final long to;
+
+        private Chunk(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Score[] compute() {
+            if (to - from > CHUNK) {
+                long middle = (from + to) >>> 1;
+                Chunk left = new Chunk(from, middle);
+                left.fork();
+                Score[] right = new Chunk(middle, to).compute();
+                Score[] scores = left.join();
+                for (int i = 0; i < scores.length; i++)
+                    scores[i].merge(right[i]);
+                return scores;
+            }
+            return play();
+        }
+
+        private Score[] play() {
+            SplittableRandom random = new SplittableRandom(seed * 31 + from);
+            Bidder own = strategy.get();
+            Bidder[] others = new Bidder[opponents.size()];
+            Score[] scores = new Score[opponents.size()];
+            for (int i = 0; i < others.length; i++) {
+                others[i] = opponents.get(i).create(random.split());
+                scores[i] = new Score();
+            }
+            Auction auction = new Auction();
+            for (long n = from; n < to; n++) {
+                for (int i = 0; i < others.length; i++) {
+                    int quantity = random.nextInt(minQuantity, maxQuantity + 1);
+                    int cash = random.nextInt(minCash, maxCash + 1);
+                    auction.play(own, others[i], quantity, cash);
+                    scores[i].add(auction, cash);
+                }
+            }
+            return scores;
+        }
+    }
+}
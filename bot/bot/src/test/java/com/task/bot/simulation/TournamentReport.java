@@ -0,0 +1,46 @@
+package com.task.bot.simulation;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Scores of the evaluated bidder per opponent and the speed of the tournament.
+ */
+public final class TournamentReport {
+
+    private final Map<Opponent, Score> scores;
+    private final long elapsedNanos;
+
+    TournamentReport(Map<Opponent, Score> scores, long elapsedNanos) {
+        this.scores = Collections.unmodifiableMap(scores);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Map<Opponent, Score> getScores() {
+        return scores;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long totalAuctions() {
+        return scores.values().stream().mapToLong(Score::getAuctions).sum();
+    }
+
+    public double auctionsPerSecond() {
+        return elapsedNanos == 0 ? 0 : totalAuctions() * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format("%-12s %12s %8s %8s %8s %10s %8s%n",
+                "opponent", "auctions", "win", "tie", "loss", "qty/100$", "invalid"));
+        scores.forEach((opponent, score) -> report.append(String.format("%-12s %12d %7.2f%% %7.2f%% %7.2f%% %10.3f %8d%n",
+                opponent, score.getAuctions(), 100 * score.winRate(), 100 * score.tieRate(), 100 * score.lossRate(),
+                score.cashEfficiency(), score.getInvalidBids())));
+        report.append(String.format("%d auctions in %.2f s, %.0f auctions/s%n",
+                totalAuctions(), elapsedNanos / 1e9, auctionsPerSecond()));
+        return report.toString();
+    }
+}
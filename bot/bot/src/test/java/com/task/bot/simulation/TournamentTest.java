@@ -0,0 +1,49 @@
+package com.task.bot.simulation;
+
+import com.task.bot.service.impl.BidderImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class TournamentTest {
+
+    @Test
+    public void auctionTest() {
+        Auction auction = new Auction();
+        BidderImpl own = new BidderImpl();
+        auction.play(own, new FrontLoadedBidder(), 2, 10);
+        assert (auction.getOwnQuantity() == 1 && auction.getOtherQuantity() == 1);
+        assert (auction.outcome() == 0);
+        assert (auction.getInvalidBids() == 0);
+    }
+
+    @Test
+    public void allAuctionsAreScoredTest() {
+        long auctions = 5_000;
+        TournamentReport report = new Tournament(BidderImpl::new, List.of(Opponent.values())).run(auctions);
+        assert (report.getScores().size() == Opponent.values().length);
+        for (Score score : report.getScores().values()) {
+            assert (score.getAuctions() == auctions);
+            assert (score.getWins() + score.getTies() + score.getLosses() == auctions);
+            assert (score.getInvalidBids() == 0);
+        }
+        assert (report.auctionsPerSecond() > 0);
+    }
+
+    @Test
+    public void sameBidderTiesTest() {
+        TournamentReport report = new Tournament(BidderImpl::new, List.of(Opponent.BIDDER_IMPL)).run(1_000);
+        Score score = report.getScores().get(Opponent.BIDDER_IMPL);
+        assert (score.getTies() == score.getAuctions());
+    }
+
+    @Test
+    public void reproducibleRegardlessOfParallelismTest() {
+        Score sequential = new Tournament(BidderImpl::new, List.of(Opponent.RANDOM)).parallelism(1).run(10_000)
+                .getScores().get(Opponent.RANDOM);
+        Score parallel = new Tournament(BidderImpl::new, List.of(Opponent.RANDOM)).parallelism(4).run(10_000)
+                .getScores().get(Opponent.RANDOM);
+        assert (sequential.getWins() == parallel.getWins());
+        assert (sequential.getCashSpent() == parallel.getCashSpent());
+    }
+}